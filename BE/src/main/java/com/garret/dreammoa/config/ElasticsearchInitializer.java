@@ -1,120 +1,372 @@
 package com.garret.dreammoa.config;
 
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import co.elastic.clients.elasticsearch.indices.Alias;
 import co.elastic.clients.elasticsearch.indices.CreateIndexRequest;
 import co.elastic.clients.elasticsearch.indices.CreateIndexResponse;
-import co.elastic.clients.elasticsearch.indices.DeleteIndexRequest;
+import co.elastic.clients.elasticsearch.indices.ExistsAliasRequest;
 import co.elastic.clients.elasticsearch.indices.ExistsRequest;
+import co.elastic.clients.elasticsearch.indices.GetAliasRequest;
+import co.elastic.clients.elasticsearch.indices.GetIndexRequest;
+import co.elastic.clients.elasticsearch.indices.IndexState;
+import co.elastic.clients.json.JsonData;
+import com.garret.dreammoa.domain.repository.BoardSearchRepository;
+import com.garret.dreammoa.domain.service.embedding.EmbeddingService;
 import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
 
+/**
+ * 게시글 검색 인덱스 버전 관리
+ * - 실제 인덱스는 board_v{n}, 조회는 읽기 별칭(board), 색인은 쓰기 별칭(board_write)으로 접근
+ * - 설정/매핑 해시(_meta.settings_hash)가 바뀐 경우에만 새 버전 인덱스를 재구축 별칭(board_rebuild)과 함께 만든다.
+ *   재색인이 끝날 때까지 읽기/쓰기 별칭은 기존 인덱스에 두고 실시간 변경은 두 인덱스에 모두 반영하며(BoardSearchRepository.bulk),
+ *   완료 후 읽기/쓰기 별칭을 한 번에 새 인덱스로 옮긴다. (promote)
+ * - 해시가 같으면 재시작해도 인덱스를 건드리지 않는다.
+ * - 여러 노드가 동시에 같은 버전 인덱스를 만들려고 하면 진 쪽은 별칭을 다시 읽어 이긴 쪽 인덱스를 사용한다.
+ */
 @Component
+@Slf4j
 public class ElasticsearchInitializer {
 
+    private static final String INDEX_PREFIX = "board_v";
+    private static final String HASH_META_KEY = "settings_hash";
+    // 색인 문서 변환 방식이 바뀌면 올림 (설정/매핑이 같아도 새 버전 인덱스로 재색인)
+    // 2: content를 HTML 대신 평문으로 색인
+    private static final int DOCUMENT_VERSION = 2;
+
+    // index.max_ngram_diff 값을 추가하여 ngram tokenizer의 min_gram과 max_gram의 차이를 허용합니다.
+    // nori_analyzer는 한국어 형태소 분석을 위해 사용하고,
+    // ngram_analyzer는 일반 ngram tokenizer를 사용하여 부분 문자열 검색을 지원합니다.
+    private static final String SETTINGS_JSON = """
+            {
+              "settings": {
+                "index": {
+                  "max_ngram_diff": 8
+                },
+                "analysis": {
+                  "tokenizer": {
+                    "nori_tokenizer": { "type": "nori_tokenizer" },
+                    "ngram_tokenizer": {
+                      "type": "ngram",
+                      "min_gram": 2,
+                      "max_gram": 10,
+                      "token_chars": [ "letter", "digit", "symbol" ]
+                    }
+                  },
+                  "analyzer": {
+                    "nori_analyzer": { "type": "custom", "tokenizer": "nori_tokenizer" },
+                    "ngram_analyzer": { "type": "custom", "tokenizer": "ngram_tokenizer", "filter": ["lowercase"] }
+                  }
+                }
+              }
+            }
+            """;
+
+    // 멀티 필드 매핑을 사용하여, 기본 필드에는 nori_analyzer, 서브 필드에는 ngram_analyzer를 적용합니다.
+    // _meta.settings_hash에는 생성 시 설정/매핑 해시가 채워집니다.
+    // embedding은 HNSW 그래프로 색인해 knn 검색에 사용 (dims는 임베딩 모델 차원과 같아야 함)
+    // suggest는 제목/태그 자동완성용 completion 필드 (메모리 FST 기반 접두어 검색)
+    private static final String MAPPINGS_JSON = """
+            {
+              "mappings": {
+                "_meta": { "settings_hash": "%s" },
+                "properties": {
+                  "title": {
+                    "type": "text",
+                    "analyzer": "nori_analyzer",
+                    "fields": {
+                      "ngram": {
+                        "type": "text",
+                        "analyzer": "ngram_analyzer"
+                      }
+                    }
+                  },
+                  "content": {
+                    "type": "text",
+                    "analyzer": "nori_analyzer",
+                    "fields": {
+                      "ngram": {
+                        "type": "text",
+                        "analyzer": "ngram_analyzer"
+                      }
+                    }
+                  },
+                  "suggest": {
+                    "type": "completion",
+                    "analyzer": "simple",
+                    "max_input_length": 50
+                  },
+                  "embedding": {
+                    "type": "dense_vector",
+                    "dims": %d,
+                    "index": true,
+                    "similarity": "cosine",
+                    "index_options": { "type": "hnsw", "m": 16, "ef_construction": 100 }
+                  }
+                }
+              }
+            }
+            """;
+
     private final ElasticsearchClient elasticsearchClient;
+    private final String settingsHash;
+
+    // 현재 조회 중인 인덱스 / 쓰기 별칭 인덱스 / 재색인 중인 새 버전 인덱스 (재구축 중이 아니면 null)
+    private volatile String readIndex;
+    private volatile String writeIndex;
+    private volatile String rebuildIndex;
+    // 이번 기동에서 재색인 대상 인덱스를 새로 만들었는지
+    private volatile boolean indexCreated;
 
     public ElasticsearchInitializer(ElasticsearchClient elasticsearchClient) {
         this.elasticsearchClient = elasticsearchClient;
+        this.settingsHash = sha256(SETTINGS_JSON + MAPPINGS_JSON + EmbeddingService.DIMENSIONS + "|" + DOCUMENT_VERSION).substring(0, 16);
+    }
+
+    public boolean isIndexCreated() {
+        return indexCreated;
+    }
+
+    //재색인 대상 실제 인덱스 이름 (재구축 중이면 새 버전 인덱스, 아니면 현재 인덱스)
+    public String getReindexTarget() {
+        return rebuildIndex != null ? rebuildIndex : writeIndex;
+    }
+
+    //새 버전 인덱스가 재색인을 기다리는 중인지 (읽기/쓰기 별칭은 아직 이전 인덱스)
+    public boolean isRebuildPending() {
+        return rebuildIndex != null;
     }
 
     @PostConstruct
     public void initializeElasticsearchIndex() {
         try {
-            // 기존 'board' 인덱스가 존재하는지 확인
-            boolean indexExists = elasticsearchClient.indices()
-                    .exists(ExistsRequest.of(e -> e.index("board"))).value();
-
-            // 기존 인덱스 삭제 (새로운 설정 적용을 위해)
-            if (indexExists) {
-                elasticsearchClient.indices()
-                        .delete(DeleteIndexRequest.of(d -> d.index("board")));
-                System.out.println("⚠️ 기존 'board' 인덱스를 삭제했습니다.");
+            try {
+                initialize();
+            } catch (ElasticsearchException e) {
+                if (!"resource_already_exists_exception".equals(e.error().type())) {
+                    throw e;
+                }
+                // 다른 노드가 같은 버전 인덱스를 먼저 만든 경우: 별칭을 다시 읽어 그 인덱스를 사용
+                log.info("다른 노드가 검색 인덱스를 먼저 생성했습니다. 별칭을 다시 읽습니다: {}", e.getMessage());
+                initialize();
             }
+        } catch (IOException | ElasticsearchException e) {
+            log.error("Elasticsearch 인덱스 설정 중 오류 발생: {}", e.getMessage());
+        }
+    }
 
-            // 새로운 'board' 인덱스 생성
-            // index.max_ngram_diff 값을 추가하여 ngram tokenizer의 min_gram과 max_gram의 차이를 허용합니다.
-            // nori_analyzer는 한국어 형태소 분석을 위해 사용하고,
-            // ngram_analyzer는 일반 ngram tokenizer를 사용하여 부분 문자열 검색을 지원합니다.
-            String settingsJson = """
-                    {
-                      "settings": {
-                        "index": {
-                          "max_ngram_diff": 8
-                        },
-                        "analysis": {
-                          "tokenizer": {
-                            "nori_tokenizer": { "type": "nori_tokenizer" },
-                            "ngram_tokenizer": {
-                              "type": "ngram",
-                              "min_gram": 2,
-                              "max_gram": 10,
-                              "token_chars": [ "letter", "digit", "symbol" ]
-                            }
-                          },
-                          "analyzer": {
-                            "nori_analyzer": { "type": "custom", "tokenizer": "nori_tokenizer" },
-                            "ngram_analyzer": { "type": "custom", "tokenizer": "ngram_tokenizer", "filter": ["lowercase"] }
-                          }
-                        }
-                      }
-                    }
-                    """;
-
-            // 멀티 필드 매핑을 사용하여, 기본 필드에는 nori_analyzer, 서브 필드에는 ngram_analyzer를 적용합니다.
-            String mappingsJson = """
-                    {
-                      "mappings": {
-                        "properties": {
-                          "title": {
-                            "type": "text",
-                            "analyzer": "nori_analyzer",
-                            "fields": {
-                              "ngram": {
-                                "type": "text",
-                                "analyzer": "ngram_analyzer"
-                              }
-                            }
-                          },
-                          "content": {
-                            "type": "text",
-                            "analyzer": "nori_analyzer",
-                            "fields": {
-                              "ngram": {
-                                "type": "text",
-                                "analyzer": "ngram_analyzer"
-                              }
-                            }
-                          },
-                          "embedding": {
-                                          "type": "dense_vector",
-                                          "dims": 768
-                                        }
-                        }
-                      }
-                    }
-                    """;
-
-            ByteArrayInputStream settingsStream = new ByteArrayInputStream(
-                    settingsJson.getBytes(StandardCharsets.UTF_8));
-            ByteArrayInputStream mappingsStream = new ByteArrayInputStream(
-                    mappingsJson.getBytes(StandardCharsets.UTF_8));
-
-            CreateIndexRequest createIndexRequest = CreateIndexRequest.of(c -> c
-                    .index("board")
-                    .withJson(settingsStream)
-                    .withJson(mappingsStream)
-            );
-
-            CreateIndexResponse response = elasticsearchClient.indices().create(createIndexRequest);
-            if (response.acknowledged()) {
-                System.out.println("✅ Elasticsearch 'board' 인덱스가 성공적으로 생성됨!");
+    private void initialize() throws IOException {
+        refreshAliases();
+
+        // 재구축 중인(또는 현재) 인덱스의 해시가 현재 설정과 같으면 그대로 사용 (재구축 중이었다면 재색인이 이어서 진행)
+        String current = getReindexTarget();
+        if (current != null && settingsHash.equals(readSettingsHash(current))) {
+            if (rebuildIndex == null && findAliasTarget(BoardSearchRepository.WRITE_ALIAS).isEmpty()) {
+                pointWriteAlias(current);
+            }
+            log.info("기존 검색 인덱스 사용: read={}, write={}, rebuild={} (hash={})", readIndex, writeIndex, rebuildIndex, settingsHash);
+            return;
+        }
+
+        String newIndex = INDEX_PREFIX + (latestVersion() + 1);
+        boolean legacyIndexExists = readIndex == null && elasticsearchClient.indices()
+                .exists(ExistsRequest.of(e -> e.index(BoardSearchRepository.READ_ALIAS))).value();
+        if (readIndex == null && !legacyIndexExists) {
+            // 조회할 이전 인덱스가 없으므로 처음부터 읽기/쓰기 별칭 연결
+            createIndex(newIndex, BoardSearchRepository.READ_ALIAS, BoardSearchRepository.WRITE_ALIAS);
+            readIndex = newIndex;
+            writeIndex = newIndex;
+            indexCreated = true;
+            log.info("검색 인덱스 {} 생성 (hash={})", newIndex, settingsHash);
+            return;
+        }
+
+        // 인덱스 생성과 재구축 별칭 연결을 한 요청으로 (다른 노드가 별칭 없는 인덱스를 보지 않도록)
+        createIndex(newIndex, BoardSearchRepository.REBUILD_ALIAS);
+        String staleRebuild = rebuildIndex;
+        rebuildIndex = newIndex;
+        indexCreated = true;
+        if (findAliasTarget(BoardSearchRepository.WRITE_ALIAS).isEmpty()) {
+            // 쓰기 별칭 도입 전 인덱스(별칭 도입 전이면 'board' 실제 인덱스): promote 전까지 기존 인덱스에 쓰기 별칭 연결
+            String current = readIndex != null ? readIndex : BoardSearchRepository.READ_ALIAS;
+            pointWriteAlias(current);
+            writeIndex = current;
+        }
+        if (staleRebuild != null) {
+            // 이전 설정으로 재구축하다 중단된 인덱스
+            deleteQuietly(staleRebuild);
+        }
+        log.info("검색 인덱스 {} 생성 (hash={}), 재색인 후 읽기/쓰기 별칭 전환 예정", newIndex, settingsHash);
+    }
+
+    /**
+     * 별칭이 가리키는 실제 인덱스를 다시 읽는다. (다른 노드가 promote/재구축을 시작했을 수 있음)
+     */
+    public synchronized void refreshAliases() throws IOException {
+        readIndex = findAliasTarget(BoardSearchRepository.READ_ALIAS).orElse(null);
+        writeIndex = findAliasTarget(BoardSearchRepository.WRITE_ALIAS).orElse(readIndex);
+        rebuildIndex = findAliasTarget(BoardSearchRepository.REBUILD_ALIAS).orElse(null);
+    }
+
+    /**
+     * 재색인이 끝난 새 인덱스로 읽기/쓰기 별칭을 한 요청으로 교체하고 이전 인덱스를 삭제한다.
+     */
+    public synchronized void promote() throws IOException {
+        refreshAliases();
+        String target = rebuildIndex;
+        String previousRead = readIndex;
+        String previousWrite = writeIndex;
+        if (target == null) {
+            return;
+        }
+
+        boolean legacyIndexExists = previousRead == null && elasticsearchClient.indices()
+                .exists(ExistsRequest.of(e -> e.index(BoardSearchRepository.READ_ALIAS))).value();
+        elasticsearchClient.indices().updateAliases(u -> {
+            u.actions(a -> a.add(add -> add.index(target).alias(BoardSearchRepository.READ_ALIAS)));
+            u.actions(a -> a.add(add -> add.index(target).alias(BoardSearchRepository.WRITE_ALIAS).isWriteIndex(true)));
+            u.actions(a -> a.remove(remove -> remove.index(target).alias(BoardSearchRepository.REBUILD_ALIAS)));
+            if (legacyIndexExists) {
+                // 같은 이름의 별칭을 붙이기 위해 기존 실제 인덱스를 같은 요청에서 제거 (쓰기 별칭도 함께 제거됨)
+                u.actions(a -> a.removeIndex(remove -> remove.index(BoardSearchRepository.READ_ALIAS)));
+                return u;
             }
-        } catch (IOException e) {
-            System.err.println("❌ Elasticsearch 인덱스 설정 중 오류 발생: " + e.getMessage());
+            if (previousRead != null) {
+                u.actions(a -> a.remove(remove -> remove.index(previousRead).alias(BoardSearchRepository.READ_ALIAS)));
+            }
+            if (previousWrite != null) {
+                u.actions(a -> a.remove(remove -> remove.index(previousWrite).alias(BoardSearchRepository.WRITE_ALIAS)));
+            }
+            return u;
+        });
+        readIndex = target;
+        writeIndex = target;
+        rebuildIndex = null;
+        log.info("검색 별칭 전환: {} -> {}", previousRead != null ? previousRead : BoardSearchRepository.READ_ALIAS, target);
+
+        if (previousRead != null) {
+            deleteQuietly(previousRead);
+        }
+        if (previousWrite != null && !previousWrite.equals(previousRead) && !legacyIndexExists) {
+            deleteQuietly(previousWrite);
+        }
+    }
+
+    private void deleteQuietly(String index) {
+        try {
+            elasticsearchClient.indices().delete(d -> d.index(index));
+        } catch (Exception e) {
+            log.warn("이전 검색 인덱스 {} 삭제 실패: {}", index, e.getMessage());
+        }
+    }
+
+    private void createIndex(String index, String... aliases) throws IOException {
+        ByteArrayInputStream settingsStream = new ByteArrayInputStream(
+                SETTINGS_JSON.getBytes(StandardCharsets.UTF_8));
+        ByteArrayInputStream mappingsStream = new ByteArrayInputStream(
+                MAPPINGS_JSON.formatted(settingsHash, EmbeddingService.DIMENSIONS).getBytes(StandardCharsets.UTF_8));
+
+        CreateIndexRequest createIndexRequest = CreateIndexRequest.of(c -> c
+                .index(index)
+                .withJson(settingsStream)
+                .withJson(mappingsStream)
+                .aliases(aliasMap(aliases))
+        );
+
+        CreateIndexResponse response = elasticsearchClient.indices().create(createIndexRequest);
+        if (!response.acknowledged()) {
+            throw new IOException("Elasticsearch 인덱스 생성 응답 미확인: " + index);
+        }
+    }
+
+    private static Map<String, Alias> aliasMap(String... aliases) {
+        Map<String, Alias> map = new HashMap<>();
+        for (String alias : aliases) {
+            // 쓰기 별칭은 인덱스가 여러 개가 되어도 색인 대상이 하나로 정해지도록 is_write_index
+            map.put(alias, BoardSearchRepository.WRITE_ALIAS.equals(alias)
+                    ? Alias.of(a -> a.isWriteIndex(true))
+                    : Alias.of(a -> a));
+        }
+        return map;
+    }
+
+    //쓰기 별칭을 대상 인덱스 하나로만 연결
+    private void pointWriteAlias(String index) throws IOException {
+        Optional<String> current = findAliasTarget(BoardSearchRepository.WRITE_ALIAS);
+        elasticsearchClient.indices().updateAliases(u -> {
+            u.actions(a -> a.add(add -> add.index(index).alias(BoardSearchRepository.WRITE_ALIAS).isWriteIndex(true)));
+            current.filter(previous -> !previous.equals(index))
+                    .ifPresent(previous -> u.actions(a -> a.remove(remove -> remove.index(previous).alias(BoardSearchRepository.WRITE_ALIAS))));
+            return u;
+        });
+    }
+
+    private Optional<String> findAliasTarget(String alias) throws IOException {
+        boolean exists = elasticsearchClient.indices()
+                .existsAlias(ExistsAliasRequest.of(e -> e.name(alias))).value();
+        if (!exists) {
+            return Optional.empty();
+        }
+        return elasticsearchClient.indices()
+                .getAlias(GetAliasRequest.of(g -> g.name(alias)))
+                .result().keySet().stream()
+                .max(this::compareVersion);
+    }
+
+    private String readSettingsHash(String index) throws IOException {
+        IndexState state = elasticsearchClient.indices()
+                .get(GetIndexRequest.of(g -> g.index(index)))
+                .result().get(index);
+        if (state == null || state.mappings() == null) {
+            return null;
+        }
+        Map<String, JsonData> meta = state.mappings().meta();
+        JsonData hash = meta != null ? meta.get(HASH_META_KEY) : null;
+        return hash != null ? hash.to(String.class) : null;
+    }
+
+    private int latestVersion() throws IOException {
+        return elasticsearchClient.indices()
+                .get(GetIndexRequest.of(g -> g.index(INDEX_PREFIX + "*")))
+                .result().keySet().stream()
+                .mapToInt(ElasticsearchInitializer::versionOf)
+                .max()
+                .orElse(0);
+    }
+
+    private int compareVersion(String a, String b) {
+        return Integer.compare(versionOf(a), versionOf(b));
+    }
+
+    private static int versionOf(String index) {
+        if (!index.startsWith(INDEX_PREFIX)) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(index.substring(INDEX_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
         }
     }
 }
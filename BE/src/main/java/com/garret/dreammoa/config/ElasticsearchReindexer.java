@@ -1,80 +1,263 @@
 package com.garret.dreammoa.config;
 
 import com.garret.dreammoa.domain.document.BoardDocument;
+import com.garret.dreammoa.domain.document.FloatVector;
 import com.garret.dreammoa.domain.model.BoardEntity;
+import com.garret.dreammoa.domain.model.BoardSearchOutboxEntity;
 import com.garret.dreammoa.domain.repository.BoardRepository;
+import com.garret.dreammoa.domain.repository.BoardSearchOutboxRepository;
 import com.garret.dreammoa.domain.repository.BoardSearchRepository;
-import com.garret.dreammoa.domain.service.embedding.EmbeddingService;
-import jakarta.annotation.PostConstruct;
-import lombok.RequiredArgsConstructor;
+import com.garret.dreammoa.domain.service.boardsearch.BoardDocumentAssembler;
+import com.garret.dreammoa.domain.service.boardsearch.SearchResultCache;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.annotation.DependsOn;
 import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.time.ZoneId;
-import java.util.ArrayList;
-import java.util.List;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 
+/**
+ * 게시글 검색 재색인
+ * - (updatedAt, postId) 키셋으로 청크 단위 조회 (전체 findAll / 긴 트랜잭션 없음)
+ * - 청크마다 임베딩 배치 계산 + _bulk 색인 후 체크포인트를 Redis에 기록
+ * - 중단되면 다음 기동 시 체크포인트부터 이어서 진행 (증분 모드: 체크포인트 이후 변경된 게시글만)
+ * - 체크포인트는 실제 인덱스(board_v{n})별로 관리: 새 버전 인덱스는 처음부터 전체 색인
+ * - 새 버전 인덱스 재색인이 끝나면 읽기/쓰기 별칭을 교체 (ElasticsearchInitializer.promote)
+ * - 다른 노드가 잠금을 가지고 있으면 일정 시간 뒤 다시 시도 (그 노드가 중간에 죽어도 재구축이 멈추지 않도록)
+ * 게시글 삭제와 실시간 변경은 아웃박스(BoardSearchIndexer)가 반영한다.
+ */
 @Component
 @DependsOn("elasticsearchInitializer")
-@RequiredArgsConstructor
 @Slf4j
 public class ElasticsearchReindexer {
+
+    private static final String CHECKPOINT_KEY_PREFIX = "search:reindex:checkpoint:";
+    private static final String LOCK_KEY = "search:reindex:lock";
+    private static final Duration LOCK_TTL = Duration.ofMinutes(5);
+    private static final LocalDateTime MIN_UPDATED_AT = LocalDateTime.of(1970, 1, 1, 0, 0);
+
     private final BoardRepository boardRepository;
     private final BoardSearchRepository boardSearchRepository;
-    private final EmbeddingService embeddingService;
+    private final BoardSearchOutboxRepository outboxRepository;
+    private final BoardDocumentAssembler documentAssembler;
+    private final SearchResultCache searchResultCache;
+    private final ElasticsearchInitializer elasticsearchInitializer;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final int chunkSize;
+    private final boolean runOnStartup;
+    private final long lockRetrySeconds;
+
+    // 기동을 막지 않도록 전용 스레드에서 실행
+    private final ScheduledExecutorService reindexExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "search-reindexer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final String lockOwner = UUID.randomUUID().toString();
+
+    public ElasticsearchReindexer(BoardRepository boardRepository,
+                                  BoardSearchRepository boardSearchRepository,
+                                  BoardSearchOutboxRepository outboxRepository,
+                                  BoardDocumentAssembler documentAssembler,
+                                  SearchResultCache searchResultCache,
+                                  ElasticsearchInitializer elasticsearchInitializer,
+                                  RedisTemplate<String, String> redisTemplate,
+                                  @Value("${board.search.reindex.chunk-size:200}") int chunkSize,
+                                  @Value("${board.search.reindex.on-startup:true}") boolean runOnStartup,
+                                  @Value("${board.search.reindex.lock-retry-seconds:60}") long lockRetrySeconds) {
+        this.boardRepository = boardRepository;
+        this.boardSearchRepository = boardSearchRepository;
+        this.outboxRepository = outboxRepository;
+        this.documentAssembler = documentAssembler;
+        this.searchResultCache = searchResultCache;
+        this.elasticsearchInitializer = elasticsearchInitializer;
+        this.redisTemplate = redisTemplate;
+        this.chunkSize = chunkSize;
+        this.runOnStartup = runOnStartup;
+        this.lockRetrySeconds = lockRetrySeconds;
+    }
 
     /**
-     * 애플리케이션 시작 시 DB에 저장된 모든 게시글을 Elasticsearch에 색인합니다.
+     * 애플리케이션 시작 시 재색인 (새 버전 인덱스면 전체, 아니면 체크포인트 이후 증분)
      */
     @EventListener(ApplicationReadyEvent.class)
-    @Transactional
-    public void reindexAllBoards() {
-        log.info("재동기화 작업 시작: DB의 모든 게시글을 Elasticsearch에 색인합니다.");
-        List<BoardEntity> boards = boardRepository.findAll();
-        int successCount = 0;
-        for (BoardEntity board : boards) {
+    public void reindexOnStartup() {
+        if (!runOnStartup) {
+            return;
+        }
+        boolean full = elasticsearchInitializer.isIndexCreated();
+        reindexExecutor.submit(() -> reindexOrRetry(full));
+    }
+
+    private void reindexOrRetry(boolean full) {
+        if (!reindex(full) && !reindexExecutor.isShutdown()) {
+            log.info("{}초 뒤 재색인을 다시 시도합니다.", lockRetrySeconds);
+            reindexExecutor.schedule(() -> reindexOrRetry(full), lockRetrySeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * 재색인 실행
+     * @param full true면 체크포인트를 지우고 처음부터, false면 마지막 체크포인트 이후 변경분만
+     * @return 다른 노드가 잠금을 가지고 있어 실행하지 못했으면 false
+     */
+    public boolean reindex(boolean full) {
+        if (!running.compareAndSet(false, true)) {
+            log.info("재색인이 이미 진행 중입니다.");
+            return true;
+        }
+        try {
+            // 여러 노드가 동시에 기동해도 한 노드만 수행
+            Boolean locked = redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, lockOwner, LOCK_TTL);
+            if (!Boolean.TRUE.equals(locked)) {
+                log.info("다른 노드에서 재색인이 진행 중입니다.");
+                return false;
+            }
             try {
-                // 제목과 내용을 결합하여 임베딩 텍스트 구성
-                String textForEmbedding = board.getTitle() + " " + board.getContent();
-                float[] embedding = embeddingService.getEmbedding(textForEmbedding);
+                // 잠금을 기다리는 동안 다른 노드가 promote 했을 수 있음
+                elasticsearchInitializer.refreshAliases();
+                String index = elasticsearchInitializer.getReindexTarget();
+                if (index == null) {
+                    log.warn("검색 인덱스가 준비되지 않아 재색인을 건너뜁니다.");
+                    return true;
+                }
+                String checkpointKey = CHECKPOINT_KEY_PREFIX + index;
+                if (full) {
+                    redisTemplate.delete(checkpointKey);
+                }
+                // 재구축 중인 새 인덱스는 아직 조회되지 않으므로 청크마다 검색 캐시를 비울 필요 없음 (promote 후 한 번만)
+                run(index, checkpointKey, full, !elasticsearchInitializer.isRebuildPending());
 
-                // 임베딩 계산 실패 또는 빈 배열인 경우 기본 384차원 0.0 배열 사용
-                if (embedding == null || embedding.length == 0) {
-                    embedding = new float[384]; // Java에서 new float[384]는 모든 원소가 0.0으로 초기화됩니다.
+                // 새 버전 인덱스가 모두 채워졌으면 조회/색인을 새 인덱스로 전환
+                if (elasticsearchInitializer.isRebuildPending()) {
+                    elasticsearchInitializer.promote();
+                    searchResultCache.bumpGeneration();
+                }
+            } finally {
+                if (lockOwner.equals(redisTemplate.opsForValue().get(LOCK_KEY))) {
+                    redisTemplate.delete(LOCK_KEY);
                 }
+            }
+        } catch (Exception e) {
+            log.error("재색인 중 오류 발생 (마지막 체크포인트부터 다시 시작할 수 있음)", e);
+        } finally {
+            running.set(false);
+        }
+        return true;
+    }
+
+    private void run(String index, String checkpointKey, boolean full, boolean liveIndex) {
+        Checkpoint checkpoint = loadCheckpoint(checkpointKey);
+        log.info("재동기화 작업 시작 ({}, {}): {} 이후 변경된 게시글을 색인합니다.", index, full ? "전체" : "증분", checkpoint);
+
+        int indexedCount = 0;
+        int retryCount = 0;
+        while (true) {
+            List<BoardEntity> boards = boardRepository.findReindexChunkAfter(
+                    checkpoint.updatedAt, checkpoint.postId, PageRequest.of(0, chunkSize));
+            if (boards.isEmpty()) {
+                break;
+            }
 
-                // float[]를 List<Double>로 변환 (JSON 직렬화 용)
-                List<Double> embeddingList = new ArrayList<>();
-                for (float v : embedding) {
-                    embeddingList.add((double) v);
+            Map<Long, String> nicknames = documentAssembler.loadNicknames(boards);
+            Map<Long, FloatVector> embeddings = new HashMap<>();
+            documentAssembler.loadEmbeddings(boards, embeddings);
+
+            List<BoardDocument> documents = new ArrayList<>(boards.size());
+            Set<Long> retryIds = new LinkedHashSet<>();
+            for (BoardEntity board : boards) {
+                // 임베딩 계산 실패 시 임베딩 없이 색인 (키워드 검색은 가능), 임베딩은 아웃박스에서 재시도
+                FloatVector embedding = embeddings.get(board.getPostId());
+                if (embedding == null) {
+                    retryIds.add(board.getPostId());
                 }
+                documents.add(documentAssembler.toDocument(board, nicknames.get(board.getUser().getId()), embedding));
+            }
+
+            // 벌크 요청 자체가 실패하면 예외로 중단 -> 체크포인트는 직전 청크에 머묾
+            Map<Long, String> failures = boardSearchRepository.bulkIndex(index, documents);
+            retryIds.addAll(failures.keySet());
+            enqueueRetries(retryIds);
+            if (liveIndex) {
+                searchResultCache.bumpGeneration();
+            }
+
+            BoardEntity last = boards.get(boards.size() - 1);
+            checkpoint = new Checkpoint(last.getUpdatedAt(), last.getPostId());
+            saveCheckpoint(checkpointKey, checkpoint);
+
+            indexedCount += boards.size() - failures.size();
+            retryCount += retryIds.size();
+            if (boards.size() < chunkSize) {
+                break;
+            }
+        }
+        log.info("재동기화 작업 완료: {}개 게시글 색인, {}개 아웃박스 재시도 예약 (체크포인트: {})",
+                indexedCount, retryCount, checkpoint);
+    }
+
+    //색인 실패/임베딩 누락 게시글은 아웃박스로 넘겨 백오프 재시도
+    private void enqueueRetries(Collection<Long> postIds) {
+        if (postIds.isEmpty()) {
+            return;
+        }
+        outboxRepository.saveAll(postIds.stream()
+                .map(postId -> BoardSearchOutboxEntity.builder()
+                        .postId(postId)
+                        .operation(BoardSearchOutboxEntity.Operation.UPSERT)
+                        .build())
+                .collect(Collectors.toList()));
+    }
 
-                // BoardDocument 객체 생성 (BoardDocument 클래스에 embedding 필드가 포함되어 있어야 합니다)
-                BoardDocument boardDocument = BoardDocument.builder()
-                        .id(board.getPostId())
-                        .userId(board.getUser().getId())
-                        .userNickname(board.getUser().getNickname())
-                        .category(board.getCategory().name())
-                        .title(board.getTitle())
-                        .content(board.getContent())
-                        .createdAt(board.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli())
-                        .updatedAt(board.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli())
-                        .viewCount(board.getViewCount().intValue())
-                        .embedding(embeddingList)
-                        .build();
-
-                // Elasticsearch 색인 작업 수행
-                boardSearchRepository.index(boardDocument);
-                successCount++;
-                log.info("게시글 {} 색인 완료", board.getPostId());
+    private Checkpoint loadCheckpoint(String checkpointKey) {
+        String value = redisTemplate.opsForValue().get(checkpointKey);
+        if (value != null) {
+            try {
+                String[] parts = value.split("\\|");
+                return new Checkpoint(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
             } catch (Exception e) {
-                log.error("게시글 {} 색인 중 오류 발생: {}", board.getPostId(), e.getMessage());
+                log.warn("재색인 체크포인트 형식 오류, 처음부터 색인합니다: {}", value);
             }
         }
-        log.info("재동기화 작업 완료: 총 {}개 게시글 중 {}개 색인 성공", boards.size(), successCount);
+        return new Checkpoint(MIN_UPDATED_AT, 0L);
+    }
+
+    private void saveCheckpoint(String checkpointKey, Checkpoint checkpoint) {
+        redisTemplate.opsForValue().set(checkpointKey, checkpoint.toString());
+        // 청크마다 락 만료 연장
+        redisTemplate.expire(LOCK_KEY, LOCK_TTL);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        reindexExecutor.shutdownNow();
+    }
+
+    private static class Checkpoint {
+        private final LocalDateTime updatedAt;
+        private final Long postId;
+
+        private Checkpoint(LocalDateTime updatedAt, Long postId) {
+            this.updatedAt = updatedAt;
+            this.postId = postId;
+        }
+
+        @Override
+        public String toString() {
+            return updatedAt + "|" + postId;
+        }
     }
 }
@@ -5,12 +5,16 @@ import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.garret.dreammoa.domain.dto.board.responsedto.BoardResponseDto;
+import com.garret.dreammoa.domain.service.board.BoardDetailCache;
+import com.garret.dreammoa.domain.service.boardsearch.SearchResultCache;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
@@ -41,6 +45,10 @@ public class RedisConfig {
         // value값도 마찬가지
         redisTemplate.setValueSerializer(new StringRedisSerializer());
 
+        // Hash/Stream 필드도 문자열로 (Lua 스크립트에서 XADD한 좋아요 이벤트를 그대로 읽기 위해)
+        redisTemplate.setHashKeySerializer(new StringRedisSerializer());
+        redisTemplate.setHashValueSerializer(new StringRedisSerializer());
+
         redisTemplate.afterPropertiesSet();
         return redisTemplate;
     }
@@ -73,4 +81,17 @@ public class RedisConfig {
         redisTemplate.afterPropertiesSet();
         return redisTemplate;
     }
-}
\ No newline at end of file
+
+    //게시글 상세 L1 캐시 무효화 메시지 구독 (수정/삭제 시 모든 노드의 로컬 캐시 제거)
+    //검색 결과 캐시 세대 변경 메시지 구독 (검색 인덱스 변경 시 모든 노드의 검색 캐시 무효화)
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                       BoardDetailCache boardDetailCache,
+                                                                       SearchResultCache searchResultCache) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(boardDetailCache, new ChannelTopic(BoardDetailCache.EVICT_CHANNEL));
+        container.addMessageListener(searchResultCache, new ChannelTopic(SearchResultCache.GENERATION_CHANNEL));
+        return container;
+    }
+}
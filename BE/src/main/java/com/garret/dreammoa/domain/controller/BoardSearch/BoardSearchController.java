@@ -1,6 +1,7 @@
 package com.garret.dreammoa.domain.controller.BoardSearch;
 
 import com.garret.dreammoa.domain.document.BoardDocument;
+import com.garret.dreammoa.domain.dto.board.responsedto.CursorPageResponseDto;
 import com.garret.dreammoa.domain.dto.board.responsedto.PageResponseDto;
 import com.garret.dreammoa.domain.service.boardsearch.BoardSearchService;
 import lombok.RequiredArgsConstructor;
@@ -42,6 +43,20 @@ public class BoardSearchController {
         return ResponseEntity.ok(results);
     }
 
+    /**
+     * 키워드 검색 커서 페이징 API (깊은 페이지도 일정한 비용)
+     * Endpoint: GET /boards/search/scroll?keyword=...&cursor=...
+     * @param cursor 이전 응답의 nextCursor (첫 페이지는 생략)
+     */
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPageResponseDto<BoardDocument>> searchBoardsByCursor(
+            @RequestParam String keyword,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "5") int size) {
+        CursorPageResponseDto<BoardDocument> results = boardSearchService.searchBoardsByCursor(keyword, cursor, size);
+        return ResponseEntity.ok(results);
+    }
+
     /**
      * 의미 기반 게시글 검색 API (BERT 임베딩 및 script_score 기반)
      * Endpoint: GET /boards/searchSemantic?keyword=...
@@ -64,4 +79,28 @@ public class BoardSearchController {
         return ResponseEntity.ok(results);
     }
 
+    /**
+     * 하이브리드 검색 API (키워드 + 벡터 검색 결과를 RRF로 결합)
+     * Endpoint: GET /boards/search/search-hybrid?keyword=...
+     */
+    @GetMapping("/search-hybrid")
+    public ResponseEntity<PageResponseDto<BoardDocument>> searchHybridBoards(
+            @RequestParam String keyword,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "5") int size) {
+        PageResponseDto<BoardDocument> results = boardSearchService.searchHybridBoards(keyword, page, size);
+        return ResponseEntity.ok(results);
+    }
+
+    /**
+     * 검색어 자동완성 API (게시글 제목 + 태그)
+     * Endpoint: GET /boards/search/suggest?prefix=...
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<String>> suggest(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "5") int size) {
+        return ResponseEntity.ok(boardSearchService.suggest(prefix, size));
+    }
+
 }
@@ -3,18 +3,25 @@ package com.garret.dreammoa.domain.controller;
 import com.garret.dreammoa.domain.dto.board.responsedto.MainBoardResponseDto;
 import com.garret.dreammoa.domain.dto.challenge.responsedto.EndingSoonChallengeDto;
 import com.garret.dreammoa.domain.dto.main.response.TotalScreenTimeResponseDto;
-import com.garret.dreammoa.domain.model.BoardEntity;
 import com.garret.dreammoa.domain.repository.BoardRepository;
 import com.garret.dreammoa.domain.repository.UserRepository;
+import com.garret.dreammoa.domain.repository.projection.MainBoardSummary;
+import com.garret.dreammoa.domain.service.board.BoardRankingService;
 import com.garret.dreammoa.domain.service.user.TotalScreenTimeService;
 import com.garret.dreammoa.domain.service.challenge.ChallengeService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.ZSetOperations;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @RestController
@@ -25,6 +32,7 @@ public class MainController {
     private final UserRepository userRepository;
     private final TotalScreenTimeService totalScreenTimeService;
     private final ChallengeService challengeService;
+    private final BoardRankingService boardRankingService;
 
 
     @GetMapping("/total-screen-time")
@@ -34,27 +42,48 @@ public class MainController {
 
     @GetMapping("/top-viewed")
     public ResponseEntity<List<MainBoardResponseDto>> getTopViewedPosts() {
-        // BoardRepository를 통해 조회순이 높은 상위 20개 게시글 조회
-        List<BoardEntity> topPosts = boardRepository.findTop20ByOrderByViewCountDesc();
+        // 조회수 랭킹 ZSET에서 상위 20개 postId 조회 (랭킹이 비어 있으면 DB 정렬 쿼리 사용)
+        List<ZSetOperations.TypedTuple<String>> ranked = boardRankingService.getTopViewed(20);
+        List<MainBoardSummary> topPosts;
+        Map<Long, Long> liveViewCounts = new HashMap<>();
+        if (ranked.isEmpty()) {
+            topPosts = boardRepository.findMainSummariesOrderByViewCount(PageRequest.of(0, 20));
+        } else {
+            List<Long> postIds = ranked.stream()
+                    .map(tuple -> Long.parseLong(tuple.getValue()))
+                    .collect(Collectors.toList());
+            Map<Long, MainBoardSummary> boardsById = boardRepository.findMainSummariesByPostIdIn(postIds).stream()
+                    .collect(Collectors.toMap(MainBoardSummary::getPostId, Function.identity()));
 
-        // BoardEntity -> BoardResponseDto 변환 (작성자 정보 포함)
+            // 랭킹 순서 유지 + 조회수는 ZSET 점수(실시간 값) 사용
+            topPosts = new ArrayList<>();
+            for (ZSetOperations.TypedTuple<String> tuple : ranked) {
+                MainBoardSummary board = boardsById.get(Long.parseLong(tuple.getValue()));
+                if (board != null) {
+                    topPosts.add(board);
+                    if (tuple.getScore() != null) {
+                        liveViewCounts.put(board.getPostId(), tuple.getScore().longValue());
+                    }
+                }
+            }
+        }
+
+        // 요약 프로젝션 -> MainBoardResponseDto 변환 (본문 대신 평문 요약, 작성자 정보는 같은 쿼리에서 조회)
         List<MainBoardResponseDto> responseList = topPosts.stream()
-                .map(entity -> MainBoardResponseDto.builder()
-                        .postId(entity.getPostId())
-                        .title(entity.getTitle())
-                        .content(entity.getContent())
-                        .createdAt(entity.getCreatedAt())
-                        .updatedAt(entity.getUpdatedAt())
-                        .viewCount(entity.getViewCount())
-                        .likeCount(entity.getLikeCount())
-                        .commentCount(entity.getCommentCount())
+                .map(summary -> MainBoardResponseDto.builder()
+                        .postId(summary.getPostId())
+                        .title(summary.getTitle())
+                        .content(summary.getExcerpt())
+                        .thumbnailUrl(summary.getThumbnailUrl())
+                        .createdAt(summary.getCreatedAt())
+                        .updatedAt(summary.getUpdatedAt())
+                        .viewCount(liveViewCounts.getOrDefault(summary.getPostId(), summary.getViewCount()))
+                        .likeCount(summary.getLikeCount())
+                        .commentCount(summary.getCommentCount())
                         // 작성자 정보 매핑
-                        .userName(entity.getUser().getName())
-                        .userNickname(entity.getUser().getNickname())
-                        .userProfilePicture(
-                                entity.getUser().getProfileImage() != null
-                                        ? entity.getUser().getProfileImage().getFileUrl()
-                                        : null)
+                        .userName(summary.getUserName())
+                        .userNickname(summary.getUserNickname())
+                        .userProfilePicture(summary.getUserProfilePicture())
                         .build())
                 .collect(Collectors.toList());
 
@@ -2,11 +2,15 @@ package com.garret.dreammoa.domain.controller.board;
 
 import com.garret.dreammoa.domain.dto.board.requestdto.BoardRequestDto;
 import com.garret.dreammoa.domain.dto.board.responsedto.BoardResponseDto;
+import com.garret.dreammoa.domain.dto.board.responsedto.CursorPageResponseDto;
 import com.garret.dreammoa.domain.model.BoardEntity;
 import com.garret.dreammoa.domain.repository.BoardRepository;
 import com.garret.dreammoa.domain.service.board.BoardService;
+import com.garret.dreammoa.domain.service.board.BoardSortType;
 import com.garret.dreammoa.domain.service.like.LikeService;
 import com.garret.dreammoa.domain.service.viewcount.ViewCountService;
+import com.garret.dreammoa.domain.service.viewcount.ViewerIdResolver;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.Logger;
@@ -15,8 +19,10 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -29,6 +35,7 @@ public class BoardController {
 
     private final BoardService boardService;
     private final ViewCountService viewCountService;
+    private final ViewerIdResolver viewerIdResolver;
 
     private final BoardRepository boardRepository;
     private final LikeService likeService;
@@ -46,11 +53,11 @@ public class BoardController {
 
     //게시글 상세조회
     @GetMapping("/{postId}")
-    public ResponseEntity<BoardResponseDto> getBoard(@PathVariable Long postId) {
+    public ResponseEntity<BoardResponseDto> getBoard(@PathVariable Long postId, HttpServletRequest request) {
         System.out.println("🚀 게시글 조회 - postId: " + postId);
 
-        //Redis에서 조회수 증가(Mysql 반영은 5분마다 자동실행)
-        viewCountService.increaseViewCount(postId);
+        //Redis에서 조회수 증가 + 순 방문자 기록(Mysql 반영은 1분마다 자동실행)
+        viewCountService.increaseViewCount(postId, viewerIdResolver.resolve(request));
 
         //게시글 데이터 가져오기
         BoardResponseDto responseDto = boardService.getBoard(postId);
@@ -64,11 +71,16 @@ public class BoardController {
         return ResponseEntity.ok(responseDto);
     }
 
-    //게시글 목록 조회
+    //게시글 목록 조회 (JSON 배열을 청크 단위로 스트리밍, sort=views 이면 조회수순, limit은 서버 상한 적용)
     @GetMapping
-    public ResponseEntity<List<BoardResponseDto>> getBoardList() {
-        List<BoardResponseDto> list = boardService.getBoardList();
-        return ResponseEntity.ok(list);
+    public ResponseEntity<StreamingResponseBody> getBoardList(
+            @RequestParam(required = false, defaultValue = "id") String sort,
+            @RequestParam(required = false, defaultValue = "1000") int limit) {
+        boolean sortByViews = "views".equalsIgnoreCase(sort);
+        StreamingResponseBody body = out -> boardService.writeBoardList(out, sortByViews, limit);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
     }
 
     //게시글 수정
@@ -169,6 +181,19 @@ public class BoardController {
         return ResponseEntity.ok(result);
     }
 
+    //게시글 커서(키셋) 페이징 - 무한 스크롤용, sort: newest | views | likes | comments
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPageResponseDto<BoardResponseDto>> getBoardListByCursor(
+            @RequestParam(required = false, defaultValue = "자유") String category,
+            @RequestParam(required = false, defaultValue = "newest") String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "7") int size) {
+        BoardEntity.Category boardCategory = BoardEntity.Category.valueOf(category);
+        CursorPageResponseDto<BoardResponseDto> result =
+                boardService.getBoardListByCursor(boardCategory, BoardSortType.from(sort), cursor, size);
+        return ResponseEntity.ok(result);
+    }
+
     //태그 검색
     @GetMapping("/search-by-tag")
     public ResponseEntity<Page<BoardResponseDto>> searchByTag(
@@ -1,5 +1,6 @@
 package com.garret.dreammoa.domain.controller.like;
 
+import com.garret.dreammoa.domain.dto.like.responsedto.LikeResponseDto;
 import com.garret.dreammoa.domain.dto.user.CustomUserDetails;
 import com.garret.dreammoa.domain.service.like.LikeService;
 import lombok.RequiredArgsConstructor;
@@ -24,8 +25,8 @@ public class LikeController {
     ) {
         try {
             // userDetails.getId() 로 현재 로그인한 사용자의 ID 추출
-            likeService.addLike(postId, userDetails.getId());
-            return ResponseEntity.ok().body("{\"message\": \"✅ 좋아요 완료\"}");
+            int likeCount = likeService.addLike(postId, userDetails.getId());
+            return ResponseEntity.ok().body("{\"message\": \"✅ 좋아요 완료\", \"likeCount\": " + likeCount + "}");
         } catch (IllegalArgumentException | IllegalStateException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body("{\"message\": \"" + e.getMessage() + "\"}");
@@ -42,8 +43,8 @@ public class LikeController {
             @AuthenticationPrincipal CustomUserDetails userDetails
     ) {
         try {
-            likeService.removeLike(postId, userDetails.getId());
-            return ResponseEntity.ok().body("{\"message\": \"✅ 좋아요 취소\"}");
+            int likeCount = likeService.removeLike(postId, userDetails.getId());
+            return ResponseEntity.ok().body("{\"message\": \"✅ 좋아요 취소\", \"likeCount\": " + likeCount + "}");
         } catch (IllegalArgumentException | IllegalStateException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body("{\"message\": \"" + e.getMessage() + "\"}");
@@ -53,6 +54,15 @@ public class LikeController {
         }
     }
 
+    // 좋아요 토글 (좋아요 상태면 취소, 아니면 추가)
+    @PostMapping("/{postId}/toggle")
+    public ResponseEntity<LikeResponseDto> toggleLike(
+            @PathVariable("postId") Long postId,
+            @AuthenticationPrincipal CustomUserDetails userDetails
+    ) {
+        return ResponseEntity.ok(likeService.toggleLike(postId, userDetails.getId()));
+    }
+
     @GetMapping("/{postId}/count")
     public ResponseEntity<Integer> getLikeCount(@PathVariable("postId") Long postId){
         int count = likeService.getLikeCount(postId);
@@ -2,12 +2,14 @@ package com.garret.dreammoa.domain.document;
 //Elasticsearch에 저장될 문서 구조 정의
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.persistence.Id;
 import lombok.*;
 import org.springframework.data.elasticsearch.annotations.Document;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
 @Document(indexName = "board")
@@ -28,6 +30,22 @@ public class BoardDocument {
     private long createdAt;  // ✅ LocalDateTime → long (epoch time)
     private long updatedAt;  // ✅ LocalDateTime → long (epoch time)
     private int viewCount;
-    private List<Double> embedding;
+    private FloatVector embedding;
+    private Completion suggest; // 자동완성(completion suggester) 입력: 제목 + 태그, 가중치는 조회수
 
+    // 검색 응답 전용: 필드별 하이라이트 조각 (HTML 이스케이프 + <em>, 색인 시에는 null이라 저장되지 않음)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Map<String, List<String>> highlights;
+
+    /**
+     * completion 필드 값 ({"input": [...], "weight": n})
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Completion {
+        private List<String> input;
+        private int weight;
+    }
 }
@@ -0,0 +1,124 @@
+package com.garret.dreammoa.domain.document;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * 임베딩 벡터 (float[] 래퍼)
+ * 임베딩 서비스 응답 -> 색인 문서 -> ES 요청 본문까지 원시 float 배열 그대로 전달한다. (요소마다 Double 객체를 만들지 않음)
+ * JSON으로는 숫자 배열 [0.1, 0.2, ...]로 직렬화된다.
+ */
+@JsonSerialize(using = FloatVector.Serializer.class)
+@JsonDeserialize(using = FloatVector.Deserializer.class)
+public final class FloatVector {
+
+    private final float[] values;
+
+    private FloatVector(float[] values) {
+        this.values = values;
+    }
+
+    //배열을 복사하지 않고 감쌈 (호출자는 이후 배열을 수정하지 않아야 함)
+    public static FloatVector of(float[] values) {
+        return new FloatVector(values);
+    }
+
+    public float[] values() {
+        return values;
+    }
+
+    public int dimension() {
+        return values.length;
+    }
+
+    /**
+     * List<Float>를 요구하는 API(ES 클라이언트 knn queryVector)용 읽기 전용 뷰
+     * 복사본을 만들지 않고, 요소를 읽을 때만 박싱한다.
+     */
+    public List<Float> asList() {
+        return new FloatListView(values);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof FloatVector && Arrays.equals(values, ((FloatVector) o).values));
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(values);
+    }
+
+    @Override
+    public String toString() {
+        return "FloatVector[" + values.length + "]";
+    }
+
+    private static final class FloatListView extends AbstractList<Float> implements RandomAccess {
+        private final float[] values;
+
+        private FloatListView(float[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public Float get(int index) {
+            return values[index];
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+    }
+
+    public static class Serializer extends JsonSerializer<FloatVector> {
+        @Override
+        public void serialize(FloatVector vector, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            float[] values = vector.values;
+            gen.writeStartArray(vector, values.length);
+            for (float value : values) {
+                gen.writeNumber(value);
+            }
+            gen.writeEndArray();
+        }
+    }
+
+    public static class Deserializer extends JsonDeserializer<FloatVector> {
+        // 임베딩 모델 차원 기준 초기 크기
+        private static final int INITIAL_CAPACITY = 768;
+
+        @Override
+        public FloatVector deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (p.currentToken() != JsonToken.START_ARRAY) {
+                return (FloatVector) ctxt.handleUnexpectedToken(FloatVector.class, p);
+            }
+            float[] buffer = new float[INITIAL_CAPACITY];
+            int size = 0;
+            JsonToken token;
+            while ((token = p.nextToken()) != JsonToken.END_ARRAY) {
+                if (token != JsonToken.VALUE_NUMBER_FLOAT && token != JsonToken.VALUE_NUMBER_INT) {
+                    return (FloatVector) ctxt.handleUnexpectedToken(FloatVector.class, p);
+                }
+                if (size == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+                buffer[size++] = p.getFloatValue();
+            }
+            return new FloatVector(size == buffer.length ? buffer : Arrays.copyOf(buffer, size));
+        }
+    }
+}
@@ -10,7 +10,7 @@ import java.util.List;
 
 @Getter
 @Setter
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class BoardResponseDto {
@@ -21,10 +21,12 @@ public class BoardResponseDto {
     @JsonFormat(shape = JsonFormat.Shape.STRING)
     private BoardEntity.Category category; // enum
     private String title;
-    private String content;
+    private String content; // 목록 조회에서는 평문 요약(excerpt)
+    private String thumbnailUrl; // 본문 첫 번째 이미지 URL
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private int viewCount;
+    private int uniqueViewCount; // 순 방문자 수 (상세 조회에서만 채움)
     private int likeCount;
     private int commentCount;
     private List<String> tags;
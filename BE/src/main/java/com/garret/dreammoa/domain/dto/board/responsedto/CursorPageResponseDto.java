@@ -0,0 +1,19 @@
+package com.garret.dreammoa.domain.dto.board.responsedto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageResponseDto<T> {
+    private List<T> content; //이번 페이지 게시글 목록
+    private String nextCursor; //다음 페이지 요청 시 전달할 커서 (마지막 페이지면 null)
+    private boolean hasNext; //다음 페이지 존재 여부
+    private long totalElements; //카테고리 전체 게시글 수 (Redis 카운터 값)
+}
@@ -11,7 +11,8 @@ import java.time.LocalDateTime;
 public class MainBoardResponseDto {
     private Long postId;
     private String title;
-    private String content;
+    private String content; // 평문 요약(excerpt)
+    private String thumbnailUrl;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private Long viewCount;
@@ -0,0 +1,11 @@
+package com.garret.dreammoa.domain.dto.like.responsedto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class LikeResponseDto {
+    private final boolean liked; // 처리 후 좋아요 상태
+    private final int likeCount; // 처리 후 좋아요 수
+}
@@ -8,7 +8,17 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "tb_board")
+@Table(name = "tb_board", indexes = {
+        // 카테고리별 정렬 목록 + 키셋 페이징용 (정렬 컬럼, post_id)
+        @Index(name = "idx_board_category_created", columnList = "category, createdAt, post_id"),
+        @Index(name = "idx_board_category_view", columnList = "category, viewCount, post_id"),
+        @Index(name = "idx_board_category_like", columnList = "category, likeCount, post_id"),
+        @Index(name = "idx_board_category_comment", columnList = "category, commentCount, post_id"),
+        // 전체 목록 조회수순 청크 조회용
+        @Index(name = "idx_board_view", columnList = "viewCount, post_id"),
+        // 검색 재색인 체크포인트(updatedAt, post_id) 이후 변경분 조회용
+        @Index(name = "idx_board_updated", columnList = "updatedAt, post_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -40,6 +50,18 @@ public class BoardEntity {
     @Column(columnDefinition = "TEXT")
     private String content;
 
+    //목록용 요약 : 본문 평문 앞부분 (작성/수정 시 계산)
+    @Column(length = 300)
+    private String excerpt;
+
+    //목록용 대표 이미지 : 본문의 첫 번째 이미지 URL
+    @Column(length = 1000)
+    private String thumbnailUrl;
+
+    //목록용 태그 이름 (콤마로 연결)
+    @Column(length = 1000)
+    private String tagNames;
+
     //작성일
     private LocalDateTime createdAt;
 
@@ -50,6 +72,10 @@ public class BoardEntity {
     @Column(nullable = false, columnDefinition = "BIGINT DEFAULT 0")
     private Long viewCount = 0L;
 
+    //순 방문자 수 (Redis HyperLogLog 추정치를 주기적으로 동기화)
+    @Column(nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long uniqueViewCount = 0L;
+
     //좋아요수
     @Column(columnDefinition = "INT DEFAULT 0")
     private int likeCount = 0;
@@ -67,6 +93,7 @@ public class BoardEntity {
         this.createdAt = (this.createdAt == null) ? LocalDateTime.now() : this.createdAt;
         this.updatedAt = LocalDateTime.now();
         this.viewCount = (this.viewCount == null) ? 0L : this.viewCount;
+        this.uniqueViewCount = (this.uniqueViewCount == null) ? 0L : this.uniqueViewCount;
         this.likeCount = 0;
         this.commentCount = 0;
     }
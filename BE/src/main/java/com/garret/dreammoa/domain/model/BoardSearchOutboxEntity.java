@@ -0,0 +1,57 @@
+package com.garret.dreammoa.domain.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 게시글 검색 색인 아웃박스
+ * 게시글 작성/수정/삭제와 같은 트랜잭션에서 기록하고, BoardSearchIndexer가 비동기로 Elasticsearch에 반영한다.
+ */
+@Entity
+@Table(name = "tb_board_search_outbox", indexes = {
+        @Index(name = "idx_board_search_outbox_next", columnList = "nextAttemptAt, id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BoardSearchOutboxEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    //대상 게시글 ID (게시글 삭제 후에도 남아 있어야 하므로 FK 없음)
+    @Column(name = "post_id", nullable = false)
+    private Long postId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Operation operation;
+
+    //실패 횟수
+    @Column(nullable = false)
+    private int attempts;
+
+    //다음 처리 가능 시각 (실패 시 백오프)
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 500)
+    private String lastError;
+
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    public void prePersist() {
+        this.createdAt = (this.createdAt == null) ? LocalDateTime.now() : this.createdAt;
+        this.nextAttemptAt = (this.nextAttemptAt == null) ? this.createdAt : this.nextAttemptAt;
+    }
+
+    public enum Operation {
+        UPSERT, DELETE
+    }
+}
@@ -5,8 +5,10 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
+// 게시글은 이미지(내용 해시)마다 레코드를 가지므로 해시까지 포함해 유일 (게시글 이미지 중복 참조 방지)
 @Table(name = "tb_file",
-        uniqueConstraints = {@UniqueConstraint(columnNames = {"relatedId", "relatedType"})})
+        uniqueConstraints = {@UniqueConstraint(columnNames = {"relatedId", "relatedType", "contentHash"})},
+        indexes = {@Index(name = "idx_file_content_hash", columnList = "contentHash")})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -37,6 +39,9 @@ public class FileEntity {
     @Column(nullable = false, length = 255)
     private String fileType; // 파일 MIME 타입
 
+    @Column(length = 64)
+    private String contentHash; // 파일 내용 SHA-256 (hex), 게시글 이미지 중복 업로드 방지용
+
     private LocalDateTime createdAt; // 파일 업로드 일자
 
     @PrePersist
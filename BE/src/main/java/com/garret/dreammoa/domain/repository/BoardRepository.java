@@ -1,6 +1,8 @@
 package com.garret.dreammoa.domain.repository;
 
 import com.garret.dreammoa.domain.model.BoardEntity;
+import com.garret.dreammoa.domain.repository.projection.BoardSummary;
+import com.garret.dreammoa.domain.repository.projection.MainBoardSummary;
 import jakarta.transaction.Transactional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -11,11 +13,22 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.security.core.parameters.P;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface BoardRepository extends JpaRepository<BoardEntity, Long> {
 
+    // 목록 조회 공통 SELECT 절 (content 컬럼 제외)
+    String SUMMARY_COLUMNS = "b.postId AS postId, b.user.id AS userId, b.category AS category, b.title AS title, " +
+            "b.excerpt AS excerpt, b.thumbnailUrl AS thumbnailUrl, b.tagNames AS tagNames, " +
+            "b.createdAt AS createdAt, b.updatedAt AS updatedAt, " +
+            "b.viewCount AS viewCount, b.likeCount AS likeCount, b.commentCount AS commentCount";
+    String SUMMARY_SELECT = "SELECT " + SUMMARY_COLUMNS + " ";
+    String COUNT_BY_CATEGORY = "SELECT COUNT(b) FROM BoardEntity b WHERE b.category = :category";
+
     @Modifying
     @Transactional
     @Query("UPDATE BoardEntity b SET b.viewCount = :viewCount WHERE b.postId = :postId")
@@ -24,13 +37,19 @@ public interface BoardRepository extends JpaRepository<BoardEntity, Long> {
     long countByCategory(BoardEntity.Category category);
 
     // 최신순 정렬 : 카테고리 필터링 후 생성일자 내림차순 정렬 및 페이징
-    Page<BoardEntity> findAllByCategoryOrderByCreatedAtDesc(BoardEntity.Category category, Pageable pageable);
+    @Query(value = SUMMARY_SELECT + "FROM BoardEntity b WHERE b.category = :category ORDER BY b.createdAt DESC, b.postId DESC",
+            countQuery = COUNT_BY_CATEGORY)
+    Page<BoardSummary> findAllByCategoryOrderByCreatedAtDesc(@Param("category") BoardEntity.Category category, Pageable pageable);
 
     // category 필드로 필터링한 후, viewCount 내림차순 정렬 및 페이징 처리
-    Page<BoardEntity> findAllByCategoryOrderByViewCountDesc(BoardEntity.Category category, Pageable pageable);
+    @Query(value = SUMMARY_SELECT + "FROM BoardEntity b WHERE b.category = :category ORDER BY b.viewCount DESC, b.postId DESC",
+            countQuery = COUNT_BY_CATEGORY)
+    Page<BoardSummary> findAllByCategoryOrderByViewCountDesc(@Param("category") BoardEntity.Category category, Pageable pageable);
 
     // 좋아요순 정렬 : 카테고리별로 likecount 컬럼 기준 내림차순 정렬 및 페이징
-    Page<BoardEntity> findAllByCategoryOrderByLikeCountDesc(BoardEntity.Category category, Pageable pageable);
+    @Query(value = SUMMARY_SELECT + "FROM BoardEntity b WHERE b.category = :category ORDER BY b.likeCount DESC, b.postId DESC",
+            countQuery = COUNT_BY_CATEGORY)
+    Page<BoardSummary> findAllByCategoryOrderByLikeCountDesc(@Param("category") BoardEntity.Category category, Pageable pageable);
 
     // 좋아요 수 증가/감소를 위한 업데이트 메서드
     @Modifying
@@ -45,7 +64,9 @@ public interface BoardRepository extends JpaRepository<BoardEntity, Long> {
 
 
     // 댓글순 정렬 : 카테고리별로 commentcount 컬럼 기준 내림차순 정렬
-    Page<BoardEntity> findAllByCategoryOrderByCommentCountDesc(BoardEntity.Category category, Pageable pageable);
+    @Query(value = SUMMARY_SELECT + "FROM BoardEntity b WHERE b.category = :category ORDER BY b.commentCount DESC, b.postId DESC",
+            countQuery = COUNT_BY_CATEGORY)
+    Page<BoardSummary> findAllByCategoryOrderByCommentCountDesc(@Param("category") BoardEntity.Category category, Pageable pageable);
 
     // 댓글 수 증가/감소를 위한 업데이트 메서드
     @Modifying
@@ -63,14 +84,117 @@ public interface BoardRepository extends JpaRepository<BoardEntity, Long> {
     @Transactional
     @Query("UPDATE BoardEntity b SET b.commentCount = :commentCount WHERE b.postId = :postId")
     void updateCommentCount(@Param("postId") Long postId, @Param("commentCount") int commentCount);
-    List<BoardEntity> findTop20ByOrderByViewCountDesc();
 
-    // ID 리스트를 기반으로 페이징된 게시글 목록 조회
-    @Query("SELECT b FROM BoardEntity b WHERE b.postId IN :postIds")
-    Page<BoardEntity> findByPostIdIn(@Param("postIds") List<Long> postIds, Pageable pageable);
+    // 메인 인기글: 작성자 이름/닉네임/프로필 이미지까지 한 번에 조회
+    String MAIN_SUMMARY_SELECT = "SELECT " + SUMMARY_COLUMNS +
+            ", u.name AS userName, u.nickname AS userNickname, pi.fileUrl AS userProfilePicture " +
+            "FROM BoardEntity b LEFT JOIN b.user u LEFT JOIN u.profileImage pi ";
+
+    @Query(MAIN_SUMMARY_SELECT + "ORDER BY b.viewCount DESC, b.postId DESC")
+    List<MainBoardSummary> findMainSummariesOrderByViewCount(Pageable limit);
+
+    @Query(MAIN_SUMMARY_SELECT + "WHERE b.postId IN :postIds")
+    List<MainBoardSummary> findMainSummariesByPostIdIn(@Param("postIds") Collection<Long> postIds);
+
+    @Query(SUMMARY_SELECT + "FROM BoardEntity b WHERE b.postId IN :postIds")
+    List<BoardSummary> findSummariesByPostIdIn(@Param("postIds") Collection<Long> postIds);
+
+    // 요약(excerpt)이 없는 기존 게시글 ID (요약 백필용)
+    @Query("SELECT b.postId FROM BoardEntity b WHERE b.excerpt IS NULL AND b.postId > :postId ORDER BY b.postId ASC")
+    List<Long> findPostIdsWithoutSummary(@Param("postId") Long postId, Pageable limit);
 
-    @Query("SELECT DISTINCT b FROM BoardEntity b LEFT JOIN FETCH b.boardTags bt LEFT JOIN FETCH bt.tag WHERE b.category = :category ORDER BY b.createdAt DESC")
-    Page<BoardEntity> findAllByCategoryWithTags(@Param("category") BoardEntity.Category category, Pageable pageable);
+    @Modifying
+    @Transactional
+    @Query("UPDATE BoardEntity b SET b.excerpt = :excerpt, b.thumbnailUrl = :thumbnailUrl, b.tagNames = :tagNames " +
+            "WHERE b.postId = :postId")
+    void updateSummary(@Param("postId") Long postId,
+                       @Param("excerpt") String excerpt,
+                       @Param("thumbnailUrl") String thumbnailUrl,
+                       @Param("tagNames") String tagNames);
+
+    // 작성자 ID만 조회 (엔티티 로딩 없이 수정 권한 확인)
+    @Query("SELECT b.user.id FROM BoardEntity b WHERE b.postId = :postId")
+    Optional<Long> findUserIdByPostId(@Param("postId") Long postId);
+
+    // 랭킹 ZSET 갱신 시 게시글 카테고리만 조회
+    @Query("SELECT b.category FROM BoardEntity b WHERE b.postId = :postId")
+    Optional<BoardEntity.Category> findCategoryByPostId(@Param("postId") Long postId);
+
+    // ID 리스트를 기반으로 페이징된 게시글 목록 조회
+    @Query(value = SUMMARY_SELECT + "FROM BoardEntity b WHERE b.postId IN :postIds",
+            countQuery = "SELECT COUNT(b) FROM BoardEntity b WHERE b.postId IN :postIds")
+    Page<BoardSummary> findByPostIdIn(@Param("postIds") List<Long> postIds, Pageable pageable);
+
+    // ===== 전체 목록 청크 조회 (GET /boards 스트리밍 응답용, OFFSET 없이 마지막 키 다음부터) =====
+
+    @Query(SUMMARY_SELECT + "FROM BoardEntity b WHERE b.postId > :postId ORDER BY b.postId ASC")
+    List<BoardSummary> findChunkAfterPostId(@Param("postId") Long postId, Pageable limit);
+
+    @Query(SUMMARY_SELECT + "FROM BoardEntity b ORDER BY b.viewCount DESC, b.postId DESC")
+    List<BoardSummary> findChunkByViewCount(Pageable limit);
+
+    @Query(SUMMARY_SELECT + "FROM BoardEntity b " +
+            "WHERE b.viewCount < :viewCount OR (b.viewCount = :viewCount AND b.postId < :postId) " +
+            "ORDER BY b.viewCount DESC, b.postId DESC")
+    List<BoardSummary> findChunkByViewCountAfter(@Param("viewCount") Long viewCount,
+                                                 @Param("postId") Long postId,
+                                                 Pageable limit);
+
+    // ===== 검색 재색인용 청크 조회: (updatedAt, postId) 키셋, 체크포인트 이후 변경분만 =====
+
+    @Query("SELECT b FROM BoardEntity b " +
+            "WHERE b.updatedAt > :updatedAt OR (b.updatedAt = :updatedAt AND b.postId > :postId) " +
+            "ORDER BY b.updatedAt ASC, b.postId ASC")
+    List<BoardEntity> findReindexChunkAfter(@Param("updatedAt") LocalDateTime updatedAt,
+                                            @Param("postId") Long postId,
+                                            Pageable limit);
+
+    // ===== 키셋(커서) 페이징: (정렬 컬럼, postId) 기준, COUNT 쿼리 없음 =====
+    // limit은 Pageable(PageRequest.of(0, size + 1))로 전달
+
+    @Query(SUMMARY_SELECT + "FROM BoardEntity b WHERE b.category = :category ORDER BY b.createdAt DESC, b.postId DESC")
+    List<BoardSummary> findKeysetByNewest(@Param("category") BoardEntity.Category category, Pageable limit);
+
+    @Query(SUMMARY_SELECT + "FROM BoardEntity b WHERE b.category = :category " +
+            "AND (b.createdAt < :createdAt OR (b.createdAt = :createdAt AND b.postId < :postId)) " +
+            "ORDER BY b.createdAt DESC, b.postId DESC")
+    List<BoardSummary> findKeysetByNewestAfter(@Param("category") BoardEntity.Category category,
+                                               @Param("createdAt") LocalDateTime createdAt,
+                                               @Param("postId") Long postId,
+                                               Pageable limit);
+
+    @Query(SUMMARY_SELECT + "FROM BoardEntity b WHERE b.category = :category ORDER BY b.viewCount DESC, b.postId DESC")
+    List<BoardSummary> findKeysetByViewCount(@Param("category") BoardEntity.Category category, Pageable limit);
+
+    @Query(SUMMARY_SELECT + "FROM BoardEntity b WHERE b.category = :category " +
+            "AND (b.viewCount < :viewCount OR (b.viewCount = :viewCount AND b.postId < :postId)) " +
+            "ORDER BY b.viewCount DESC, b.postId DESC")
+    List<BoardSummary> findKeysetByViewCountAfter(@Param("category") BoardEntity.Category category,
+                                                  @Param("viewCount") Long viewCount,
+                                                  @Param("postId") Long postId,
+                                                  Pageable limit);
+
+    @Query(SUMMARY_SELECT + "FROM BoardEntity b WHERE b.category = :category ORDER BY b.likeCount DESC, b.postId DESC")
+    List<BoardSummary> findKeysetByLikeCount(@Param("category") BoardEntity.Category category, Pageable limit);
+
+    @Query(SUMMARY_SELECT + "FROM BoardEntity b WHERE b.category = :category " +
+            "AND (b.likeCount < :likeCount OR (b.likeCount = :likeCount AND b.postId < :postId)) " +
+            "ORDER BY b.likeCount DESC, b.postId DESC")
+    List<BoardSummary> findKeysetByLikeCountAfter(@Param("category") BoardEntity.Category category,
+                                                  @Param("likeCount") int likeCount,
+                                                  @Param("postId") Long postId,
+                                                  Pageable limit);
+
+    @Query(SUMMARY_SELECT + "FROM BoardEntity b WHERE b.category = :category ORDER BY b.commentCount DESC, b.postId DESC")
+    List<BoardSummary> findKeysetByCommentCount(@Param("category") BoardEntity.Category category, Pageable limit);
+
+    @Query(SUMMARY_SELECT + "FROM BoardEntity b WHERE b.category = :category " +
+            "AND (b.commentCount < :commentCount OR (b.commentCount = :commentCount AND b.postId < :postId)) " +
+            "ORDER BY b.commentCount DESC, b.postId DESC")
+    List<BoardSummary> findKeysetByCommentCountAfter(@Param("category") BoardEntity.Category category,
+                                                     @Param("commentCount") int commentCount,
+                                                     @Param("postId") Long postId,
+                                                     Pageable limit);
 
 
     // DB의 viewCount 컬럼을 기준으로 내림차순 정렬 및 페이징
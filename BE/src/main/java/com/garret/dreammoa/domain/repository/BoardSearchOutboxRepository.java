@@ -0,0 +1,23 @@
+package com.garret.dreammoa.domain.repository;
+
+import com.garret.dreammoa.domain.model.BoardSearchOutboxEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface BoardSearchOutboxRepository extends JpaRepository<BoardSearchOutboxEntity, Long> {
+
+    // 처리 가능한 이벤트를 오래된 순으로 조회
+    @Query("SELECT o FROM BoardSearchOutboxEntity o WHERE o.nextAttemptAt <= :now ORDER BY o.id ASC")
+    List<BoardSearchOutboxEntity> findReady(@Param("now") LocalDateTime now, Pageable limit);
+
+    // 색인 지연 측정용: 가장 오래된 미처리 이벤트 생성 시각
+    @Query("SELECT MIN(o.createdAt) FROM BoardSearchOutboxEntity o")
+    LocalDateTime findOldestCreatedAt();
+}
@@ -4,15 +4,23 @@ import co.elastic.clients.elasticsearch.ElasticsearchClient;
 import co.elastic.clients.elasticsearch._types.query_dsl.BoolQuery;
 import co.elastic.clients.elasticsearch._types.query_dsl.MatchQuery;
 import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
 import co.elastic.clients.elasticsearch.core.DeleteRequest;
 import co.elastic.clients.elasticsearch.core.IndexRequest;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import co.elastic.clients.elasticsearch.core.search.Highlight;
+import co.elastic.clients.elasticsearch.core.search.HighlighterEncoder;
+import co.elastic.clients.elasticsearch.core.search.Hit;
 import com.garret.dreammoa.domain.document.BoardDocument;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Repository;
 
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Repository
@@ -20,8 +28,43 @@ import java.util.stream.Collectors;
 @Slf4j
 public class BoardSearchRepository {
 
+    // 조회는 읽기 별칭, 색인/삭제는 쓰기 별칭 사용 (실제 인덱스 board_v{n}은 ElasticsearchInitializer가 관리)
+    public static final String READ_ALIAS = "board";
+    public static final String WRITE_ALIAS = "board_write";
+    // 재색인 중인 새 버전 인덱스 (promote 전까지 읽기/쓰기 별칭은 기존 인덱스에 있음)
+    public static final String REBUILD_ALIAS = "board_rebuild";
+
+    // 키워드 검색 목록에 필요한 필드만 _source로 가져옴 (본문 HTML, 임베딩, 자동완성 입력 제외)
+    public static final List<String> LIST_SOURCE_FIELDS = List.of(
+            "id", "title", "category", "userId", "userNickname", "createdAt", "updatedAt", "viewCount");
+
+    // 본문 대신 검색어 주변의 짧은 조각만 반환 (일치 부분은 <em>으로 감쌈, 본문에 일치가 없으면 앞부분)
+    // encoder html: 조각의 원문은 HTML 이스케이프되고 <em> 태그만 남으므로 그대로 렌더링해도 안전
+    public static final Highlight KEYWORD_HIGHLIGHT = Highlight.of(h -> h
+            .encoder(HighlighterEncoder.Html)
+            .preTags("<em>")
+            .postTags("</em>")
+            .requireFieldMatch(false)
+            .fields("title", f -> f.numberOfFragments(0))
+            .fields("content", f -> f.fragmentSize(100).numberOfFragments(2).noMatchSize(100)));
+
     private final ElasticsearchClient elasticsearchClient; // ✅ Elasticsearch 8.x 클라이언트 사용
 
+    /**
+     * 검색 결과 문서에 하이라이트 조각을 highlights 필드로 붙여 반환 (content 등 원본 필드는 그대로)
+     */
+    public static BoardDocument withHighlight(Hit<BoardDocument> hit) {
+        BoardDocument document = hit.source();
+        if (document == null) {
+            return null;
+        }
+        Map<String, List<String>> highlight = hit.highlight();
+        if (highlight != null && !highlight.isEmpty()) {
+            document.setHighlights(highlight);
+        }
+        return document;
+    }
+
     /**
      * 제목 또는 내용에서 키워드가 포함된 게시글 검색(Elastic match 쿼리 사용)
      */
@@ -33,16 +76,18 @@ public class BoardSearchRepository {
                     .should(MatchQuery.of(m -> m.field("content").query(keyword))._toQuery())
             )._toQuery();
 
-            // ✅ Elasticsearch 검색 실행
+            // ✅ Elasticsearch 검색 실행 (목록 필드 + 하이라이트 조각만 조회)
             var searchResponse = elasticsearchClient.search(s -> s
-                            .index("board") // 📌 indexName을 명시적으로 사용해야 함
-                            .query(query),
+                            .index(READ_ALIAS) // 📌 indexName을 명시적으로 사용해야 함
+                            .query(query)
+                            .source(src -> src.filter(f -> f.includes(LIST_SOURCE_FIELDS)))
+                            .highlight(KEYWORD_HIGHLIGHT),
                     BoardDocument.class
             );
 
             // ✅ 검색 결과 변환 후 반환
             return searchResponse.hits().hits().stream()
-                    .map(hit -> hit.source()) // BoardDocument 객체 변환
+                    .map(BoardSearchRepository::withHighlight) // BoardDocument 객체 변환
                     .collect(Collectors.toList());
 
         } catch (IOException e) {
@@ -56,7 +101,7 @@ public class BoardSearchRepository {
     public void index(BoardDocument boardDocument) {
         try {
             elasticsearchClient.index(IndexRequest.of(i -> i
-                    .index("board")
+                    .index(WRITE_ALIAS)
                     .id(String.valueOf(boardDocument.getId()))
                     .document(boardDocument)
             ));
@@ -71,11 +116,88 @@ public class BoardSearchRepository {
     public void deleteByDocumentId(Long id) {
         try {
             elasticsearchClient.delete(DeleteRequest.of(d -> d
-                    .index("board")
+                    .index(WRITE_ALIAS)
                     .id(String.valueOf(id))
             ));
         } catch (IOException e) {
             throw new RuntimeException("Elasticsearch 문서 삭제 중 오류 발생", e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * _bulk API로 여러 게시글을 한 번에 색인/삭제 (쓰기 별칭)
+     * 새 버전 인덱스를 재색인하는 중이면 같은 요청으로 재구축 인덱스에도 반영해 promote 시점에 변경분이 빠지지 않도록 한다.
+     * @return 실패한 문서 ID -> 실패 사유 (없는 문서 삭제는 실패로 보지 않음)
+     */
+    public Map<Long, String> bulk(List<BoardDocument> upserts, List<Long> deleteIds) {
+        if (upserts.isEmpty() && deleteIds.isEmpty()) {
+            return new HashMap<>();
+        }
+
+        BulkRequest.Builder builder = new BulkRequest.Builder();
+        addOperations(builder, WRITE_ALIAS, upserts, deleteIds);
+        if (rebuildAliasExists()) {
+            addOperations(builder, REBUILD_ALIAS, upserts, deleteIds);
+        }
+        return execute(builder);
+    }
+
+    /**
+     * 지정한 실제 인덱스에만 색인 (재색인용)
+     */
+    public Map<Long, String> bulkIndex(String index, List<BoardDocument> upserts) {
+        if (upserts.isEmpty()) {
+            return new HashMap<>();
+        }
+        BulkRequest.Builder builder = new BulkRequest.Builder();
+        addOperations(builder, index, upserts, List.of());
+        return execute(builder);
+    }
+
+    private void addOperations(BulkRequest.Builder builder, String target, List<BoardDocument> upserts, List<Long> deleteIds) {
+        // 별칭이 사라진 경우(그 사이 promote) 같은 이름의 인덱스가 자동 생성되지 않도록 require_alias
+        boolean requireAlias = REBUILD_ALIAS.equals(target);
+        for (BoardDocument document : upserts) {
+            builder.operations(op -> op.index(i -> i
+                    .index(target)
+                    .id(String.valueOf(document.getId()))
+                    .requireAlias(requireAlias)
+                    .document(document)));
+        }
+        for (Long id : deleteIds) {
+            builder.operations(op -> op.delete(d -> d
+                    .index(target)
+                    .id(String.valueOf(id))));
+        }
+    }
+
+    private Map<Long, String> execute(BulkRequest.Builder builder) {
+        try {
+            BulkResponse response = elasticsearchClient.bulk(builder.build());
+            Map<Long, String> failures = new HashMap<>();
+            if (response.errors()) {
+                for (BulkResponseItem item : response.items()) {
+                    if (item.error() == null || item.id() == null) {
+                        continue;
+                    }
+                    // 요청 사이에 재구축이 끝나(promote) 재구축 별칭이 없어진 경우는 쓰기 별칭에 반영된 것으로 충분
+                    if (REBUILD_ALIAS.equals(item.index()) && "index_not_found_exception".equals(item.error().type())) {
+                        continue;
+                    }
+                    failures.put(Long.parseLong(item.id()), item.error().reason());
+                }
+            }
+            return failures;
+        } catch (IOException e) {
+            throw new RuntimeException("Elasticsearch 벌크 색인 중 오류 발생", e);
+        }
+    }
+
+    private boolean rebuildAliasExists() {
+        try {
+            return elasticsearchClient.indices().existsAlias(e -> e.name(REBUILD_ALIAS)).value();
+        } catch (IOException e) {
+            throw new RuntimeException("Elasticsearch 별칭 조회 중 오류 발생", e);
+        }
+    }
+}
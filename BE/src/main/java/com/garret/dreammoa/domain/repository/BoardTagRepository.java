@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface BoardTagRepository extends JpaRepository<BoardTagEntity, Long> {
@@ -21,4 +22,8 @@ public interface BoardTagRepository extends JpaRepository<BoardTagEntity, Long>
     //특정 태그명을 포함하는 게시글 id 목록 조회
     @Query("SELECT bt.board.postId FROM BoardTagEntity bt WHERE bt.tag.tagName = :tagName")
     List<Long> findBoardIdsByTagName(@Param("tagName") String tagName);
+
+    //여러 게시글의 태그명을 한 번에 조회 (postId, tagName)
+    @Query("SELECT bt.board.postId, t.tagName FROM BoardTagEntity bt JOIN bt.tag t WHERE bt.board.postId IN :postIds")
+    List<Object[]> findTagNamesByPostIdIn(@Param("postIds") Collection<Long> postIds);
 }
@@ -6,7 +6,6 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
-import java.util.Optional;
 
 
 @Repository
@@ -14,4 +13,7 @@ public interface FileRepository extends JpaRepository<FileEntity, Long> {
 
     List<FileEntity> findByRelatedIdAndRelatedType(Long relatedId, RelatedType relatedType);
     void deleteByFileId(Long fileId);
+
+    // 같은 내용의 이미지를 참조하는 레코드가 남아 있는지 확인 (S3 객체 삭제 여부)
+    boolean existsByContentHash(String contentHash);
 }
\ No newline at end of file
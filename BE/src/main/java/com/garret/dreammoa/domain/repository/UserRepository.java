@@ -3,10 +3,12 @@ package com.garret.dreammoa.domain.repository;
 import com.garret.dreammoa.domain.model.UserEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -21,4 +23,8 @@ public interface UserRepository extends JpaRepository<UserEntity, Long> {
             "ORDER BY RAND() LIMIT 7", nativeQuery = true)
     List<String> findRandomDeterminations();
 
+    // 게시글 목록 작성자 닉네임 일괄 조회 (id, nickname)
+    @Query("SELECT u.id, u.nickname FROM UserEntity u WHERE u.id IN :ids")
+    List<Object[]> findNicknamesByIdIn(@Param("ids") Collection<Long> ids);
+
 }
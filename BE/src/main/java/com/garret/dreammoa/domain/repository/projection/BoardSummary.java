@@ -0,0 +1,36 @@
+package com.garret.dreammoa.domain.repository.projection;
+
+import com.garret.dreammoa.domain.model.BoardEntity;
+
+import java.time.LocalDateTime;
+
+/**
+ * 게시글 목록용 요약 프로젝션
+ * 본문(content, TEXT) 대신 작성/수정 시 계산해 둔 요약(excerpt), 대표 이미지, 태그 이름만 조회한다.
+ */
+public interface BoardSummary {
+
+    Long getPostId();
+
+    Long getUserId();
+
+    BoardEntity.Category getCategory();
+
+    String getTitle();
+
+    String getExcerpt();
+
+    String getThumbnailUrl();
+
+    String getTagNames();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+
+    Long getViewCount();
+
+    Integer getLikeCount();
+
+    Integer getCommentCount();
+}
@@ -0,0 +1,13 @@
+package com.garret.dreammoa.domain.repository.projection;
+
+/**
+ * 메인 인기글용 요약 프로젝션 (작성자 이름/닉네임/프로필 이미지 포함)
+ */
+public interface MainBoardSummary extends BoardSummary {
+
+    String getUserName();
+
+    String getUserNickname();
+
+    String getUserProfilePicture();
+}
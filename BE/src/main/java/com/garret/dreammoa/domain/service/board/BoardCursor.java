@@ -0,0 +1,74 @@
+package com.garret.dreammoa.domain.service.board;
+
+import com.garret.dreammoa.domain.repository.projection.BoardSummary;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 키셋 페이징용 커서 (정렬 컬럼 값 + postId)
+ * 클라이언트에는 "정렬기준|정렬값|postId"를 Base64(URL-safe)로 인코딩한 불투명 문자열로 전달한다.
+ */
+@Getter
+public class BoardCursor {
+
+    private static final String DELIMITER = "|";
+
+    private final BoardSortType sortType;
+    private final String sortValue;
+    private final Long postId;
+
+    private BoardCursor(BoardSortType sortType, String sortValue, Long postId) {
+        this.sortType = sortType;
+        this.sortValue = sortValue;
+        this.postId = postId;
+    }
+
+    //페이지의 마지막 게시글로부터 다음 커서 생성
+    public static BoardCursor of(BoardSortType sortType, BoardSummary last) {
+        String sortValue = switch (sortType) {
+            case NEWEST -> last.getCreatedAt().toString();
+            case VIEWS -> String.valueOf(last.getViewCount());
+            case LIKES -> String.valueOf(last.getLikeCount());
+            case COMMENTS -> String.valueOf(last.getCommentCount());
+        };
+        return new BoardCursor(sortType, sortValue, last.getPostId());
+    }
+
+    public static BoardCursor decode(String cursor, BoardSortType expectedSortType) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 3);
+            BoardSortType sortType = BoardSortType.valueOf(parts[0]);
+            if (parts.length != 3 || sortType != expectedSortType) {
+                throw new IllegalArgumentException("정렬 기준과 커서가 일치하지 않습니다.");
+            }
+            BoardCursor decoded = new BoardCursor(sortType, parts[1], Long.parseLong(parts[2]));
+            // 값 형식 검증 (잘못된 커서는 여기서 400 처리)
+            if (sortType == BoardSortType.NEWEST) {
+                decoded.getCreatedAt();
+            } else {
+                decoded.getLongValue();
+            }
+            return decoded;
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("유효하지 않은 커서입니다.");
+        }
+    }
+
+    public String encode() {
+        String raw = sortType.name() + DELIMITER + sortValue + DELIMITER + postId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return LocalDateTime.parse(sortValue);
+    }
+
+    public long getLongValue() {
+        return Long.parseLong(sortValue);
+    }
+}
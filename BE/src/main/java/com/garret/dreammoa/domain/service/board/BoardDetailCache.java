@@ -0,0 +1,107 @@
+package com.garret.dreammoa.domain.service.board;
+
+import com.garret.dreammoa.domain.dto.board.responsedto.BoardResponseDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 게시글 상세 DTO 2단 캐시
+ * - L1: 노드 내부 Caffeine 캐시 (크기 + TTL 기반 만료)
+ * - L2: Redis "board:{postId}" (기존 boardDtoRedisTemplate)
+ * 수정/삭제 시 Redis pub/sub 채널로 postId를 발행해 모든 노드의 L1을 비운다.
+ */
+@Component
+@Slf4j
+public class BoardDetailCache implements MessageListener {
+
+    public static final String EVICT_CHANNEL = "board:cache:evict";
+    private static final String KEY_PREFIX = "board:";
+    private static final long REDIS_TTL_MINUTES = 10;
+
+    private final RedisTemplate<String, BoardResponseDto> boardDtoRedisTemplate;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final Cache<Long, BoardResponseDto> localCache;
+
+    public BoardDetailCache(@Qualifier("boardDtoRedisTemplate") RedisTemplate<String, BoardResponseDto> boardDtoRedisTemplate,
+                            RedisTemplate<String, String> redisTemplate,
+                            @Value("${board.cache.local.max-size:1000}") long maxSize,
+                            @Value("${board.cache.local.ttl-seconds:30}") long ttlSeconds) {
+        this.boardDtoRedisTemplate = boardDtoRedisTemplate;
+        this.redisTemplate = redisTemplate;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /**
+     * L1 -> L2 -> loader 순으로 조회한다.
+     * 캐시된 DTO는 여러 요청이 공유하므로 호출자가 값을 수정해도 되도록 복사본을 반환한다.
+     */
+    public BoardResponseDto get(Long postId, Supplier<BoardResponseDto> loader) {
+        BoardResponseDto local = localCache.getIfPresent(postId);
+        if (local != null) {
+            return copy(local);
+        }
+
+        String key = KEY_PREFIX + postId;
+        BoardResponseDto cachedDto = boardDtoRedisTemplate.opsForValue().get(key);
+        if (cachedDto != null) {
+            log.info("📌 Redis에서 게시글 DTO (postId={}) 를 가져옴", postId);
+            localCache.put(postId, cachedDto);
+            return copy(cachedDto);
+        }
+
+        BoardResponseDto dto = loader.get();
+        boardDtoRedisTemplate.opsForValue().set(key, dto, REDIS_TTL_MINUTES, TimeUnit.MINUTES);
+        localCache.put(postId, dto);
+        return copy(dto);
+    }
+
+    //toBuilder()는 얕은 복사이므로 태그 목록은 새 리스트로 복사
+    private static BoardResponseDto copy(BoardResponseDto dto) {
+        return dto.toBuilder()
+                .tags(dto.getTags() != null ? new ArrayList<>(dto.getTags()) : null)
+                .build();
+    }
+
+    /**
+     * 게시글 수정/삭제 시 호출: L2 삭제 + 모든 노드에 L1 무효화 브로드캐스트
+     */
+    public void evict(Long postId) {
+        localCache.invalidate(postId);
+        boardDtoRedisTemplate.delete(KEY_PREFIX + postId);
+        try {
+            redisTemplate.convertAndSend(EVICT_CHANNEL, String.valueOf(postId));
+        } catch (Exception e) {
+            // 발행 실패 시 다른 노드의 L1은 TTL 만료로 정리된다
+            log.error("게시글 캐시 무효화 메시지 발행 실패 - postId: {}", postId, e);
+        }
+    }
+
+    /**
+     * 다른 노드(자기 자신 포함)에서 발행한 무효화 메시지 수신
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8).trim();
+        try {
+            localCache.invalidate(Long.parseLong(body));
+        } catch (NumberFormatException e) {
+            log.warn("잘못된 게시글 캐시 무효화 메시지: {}", body);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.garret.dreammoa.domain.service.board;
+
+import com.garret.dreammoa.domain.service.file.FileService;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 게시글 본문(Quill HTML)의 Base64 인라인 이미지를 S3 URL로 치환
+ * - 이미지마다 스트림으로 디코딩해 전용 스레드 풀에서 동시에 업로드한다.
+ * - 모든 업로드가 끝난 뒤 한 번에 HTML을 치환하고, 실패한 이미지는 원본(data URI)을 유지한 채 모아서 기록한다.
+ * - DB는 사용하지 않으며 트랜잭션 밖에서 호출한다. (S3 PUT 동안 DB 커넥션을 잡지 않도록)
+ *   업로드 결과의 file 테이블 Insert는 호출자가 게시글 저장과 같은 트랜잭션에서 수행한다.
+ */
+@Component
+@Slf4j
+public class BoardImageUploader {
+
+    private final FileService fileService;
+    private final ThreadPoolExecutor uploadExecutor;
+    private final long timeoutSeconds;
+
+    public BoardImageUploader(FileService fileService,
+                              @Value("${board.image-upload.pool-size:8}") int poolSize,
+                              @Value("${board.image-upload.queue-capacity:100}") int queueCapacity,
+                              @Value("${board.image-upload.timeout-seconds:30}") long timeoutSeconds) {
+        this.fileService = fileService;
+        this.timeoutSeconds = timeoutSeconds;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        // 큐가 가득 차면 요청 스레드에서 직접 업로드 (무제한으로 쌓이지 않도록)
+        this.uploadExecutor = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-upload-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.uploadExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Base64 이미지를 업로드하고 S3 URL로 치환된 HTML과 업로드된 이미지 목록을 반환한다.
+     */
+    public UploadedContent uploadAndReplace(String html) {
+        if (html == null || html.trim().isEmpty()) {
+            return new UploadedContent(html, List.of());
+        }
+
+        Document doc = Jsoup.parseBodyFragment(html);
+        List<Element> targets = new ArrayList<>();
+        for (Element img : doc.select("img[src]")) {
+            if (img.attr("src").startsWith("data:image")) {
+                targets.add(img);
+            }
+        }
+        if (targets.isEmpty()) {
+            return new UploadedContent(doc.body().html(), List.of());
+        }
+
+        // FutureTask는 cancel(true) 시 업로드 스레드를 인터럽트한다 (CompletableFuture는 인터럽트하지 않음)
+        List<Future<FileService.UploadedImage>> futures = new ArrayList<>(targets.size());
+        for (Element img : targets) {
+            String dataUri = img.attr("src");
+            futures.add(uploadExecutor.submit(() -> fileService.uploadBase64ImageS3(dataUri)));
+        }
+
+        // 전체 대기 시간은 가장 느린 업로드 기준으로 timeoutSeconds까지만
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        List<FileService.UploadedImage> uploaded = new ArrayList<>(targets.size());
+        List<String> failures = new ArrayList<>();
+        for (int i = 0; i < targets.size(); i++) {
+            Future<FileService.UploadedImage> future = futures.get(i);
+            try {
+                FileService.UploadedImage image = future.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                targets.get(i).attr("src", image.getFileUrl());
+                uploaded.add(image);
+            } catch (TimeoutException e) {
+                // 대기 중이면 실행하지 않고, 실행 중이면 인터럽트 (이미 전송 중인 PUT은 끝까지 갈 수 있음)
+                future.cancel(true);
+                failures.add("#" + (i + 1) + ": timeout");
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                failures.add("#" + (i + 1) + ": " + cause.getClass().getSimpleName() + " - " + cause.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.cancel(true);
+                failures.add("#" + (i + 1) + ": interrupted");
+            }
+        }
+
+        if (!failures.isEmpty()) {
+            log.error("S3 업로드 실패 {}/{}건: {}", failures.size(), targets.size(), failures);
+        }
+        return new UploadedContent(doc.body().html(), uploaded);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        uploadExecutor.shutdown();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class UploadedContent {
+        private final String html;
+        private final List<FileService.UploadedImage> images;
+    }
+}
@@ -0,0 +1,198 @@
+package com.garret.dreammoa.domain.service.board;
+
+import com.garret.dreammoa.domain.dto.board.responsedto.BoardResponseDto;
+import com.garret.dreammoa.domain.repository.BoardTagRepository;
+import com.garret.dreammoa.domain.repository.UserRepository;
+import com.garret.dreammoa.domain.repository.projection.BoardSummary;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * 게시글 목록(페이지) -> BoardResponseDto 변환기
+ * - 본문 대신 요약 프로젝션(BoardSummary)을 사용하며, content에는 평문 요약(excerpt)을 담는다.
+ * - 태그는 요약의 tagNames를 사용하고, 작성자 닉네임은 페이지 전체에 대해 쿼리 1번으로 조회
+ * - 좋아요/조회수/댓글수는 Redis 파이프라인 1번으로 조회 (Redis 값이 없으면 DB 컬럼 사용)
+ * 페이지 크기와 상관없이 왕복 횟수가 일정하게 유지된다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BoardPageAssembler {
+
+    private static final String LIKE_KEY_PREFIX = "likes:";
+    private static final String VIEW_COUNT_KEY = "viewCount";
+    private static final String COMMENT_COUNT_KEY_PREFIX = "commentCount:";
+
+    private final BoardTagRepository boardTagRepository;
+    private final UserRepository userRepository;
+    private final RedisTemplate<String, String> redisTemplate;
+
+    public Page<BoardResponseDto> assemble(Page<BoardSummary> boardPage) {
+        return new PageImpl<>(assemble(boardPage.getContent()), boardPage.getPageable(), boardPage.getTotalElements());
+    }
+
+    public List<BoardResponseDto> assemble(List<BoardSummary> boards) {
+        if (boards.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return assemble(boards, loadCounters(boards));
+    }
+
+    //카운터를 이미 알고 있는 경우(랭킹 ZSET 점수 등) Redis 조회 없이 변환
+    List<BoardResponseDto> assemble(List<BoardSummary> boards, Map<Long, Counters> countersByPostId) {
+        if (boards.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, List<String>> legacyTags = loadLegacyTags(boards);
+        Map<Long, String> nicknamesByUserId = loadNicknames(boards);
+
+        List<BoardResponseDto> result = new ArrayList<>(boards.size());
+        for (BoardSummary board : boards) {
+            Long postId = board.getPostId();
+            Long userId = board.getUserId();
+            Counters counters = countersByPostId.getOrDefault(postId, fallbackCounters(board));
+            List<String> tags = legacyTags.containsKey(postId)
+                    ? legacyTags.get(postId)
+                    : BoardSummaryWriter.splitTags(board.getTagNames());
+
+            result.add(BoardResponseDto.builder()
+                    .postId(postId)
+                    .userId(userId)
+                    .userNickname(nicknamesByUserId.get(userId))
+                    .category(board.getCategory())
+                    .title(board.getTitle())
+                    .content(board.getExcerpt())
+                    .thumbnailUrl(board.getThumbnailUrl())
+                    .createdAt(board.getCreatedAt())
+                    .updatedAt(board.getUpdatedAt())
+                    .viewCount(counters.viewCount)
+                    .likeCount(counters.likeCount)
+                    .commentCount(counters.commentCount)
+                    .tags(tags)
+                    .build());
+        }
+        return result;
+    }
+
+    //요약이 아직 백필되지 않은 게시글만 postId IN (...) 쿼리 1번으로 태그 조회
+    private Map<Long, List<String>> loadLegacyTags(List<BoardSummary> boards) {
+        List<Long> legacyPostIds = boards.stream()
+                .filter(board -> board.getExcerpt() == null)
+                .map(BoardSummary::getPostId)
+                .collect(Collectors.toList());
+        if (legacyPostIds.isEmpty()) {
+            return new HashMap<>();
+        }
+
+        Map<Long, List<String>> tagsByPostId = new HashMap<>();
+        for (Long postId : legacyPostIds) {
+            tagsByPostId.put(postId, new ArrayList<>());
+        }
+        for (Object[] row : boardTagRepository.findTagNamesByPostIdIn(legacyPostIds)) {
+            Long postId = ((Number) row[0]).longValue();
+            tagsByPostId.get(postId).add((String) row[1]);
+        }
+        return tagsByPostId;
+    }
+
+    //작성자: id IN (...) 쿼리 1번 (UserEntity 전체 로딩 방지)
+    private Map<Long, String> loadNicknames(List<BoardSummary> boards) {
+        Set<Long> userIds = boards.stream()
+                .map(BoardSummary::getUserId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (userIds.isEmpty()) {
+            return new HashMap<>();
+        }
+
+        Map<Long, String> nicknames = new HashMap<>();
+        for (Object[] row : userRepository.findNicknamesByIdIn(userIds)) {
+            nicknames.put(((Number) row[0]).longValue(), (String) row[1]);
+        }
+        return nicknames;
+    }
+
+    /**
+     * 좋아요(SCARD) / 조회수(GET) / 댓글수(GET)를 파이프라인 한 번으로 조회
+     * 조회수/댓글수 키가 없거나 Redis 장애 시에는 DB 컬럼 값을 사용한다.
+     */
+    Map<Long, Counters> loadCounters(List<BoardSummary> boards) {
+        List<Object> results = null;
+        try {
+            results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                    RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                    for (BoardSummary board : boards) {
+                        Long postId = board.getPostId();
+                        ops.opsForSet().size(LIKE_KEY_PREFIX + postId);
+                        ops.opsForValue().get(VIEW_COUNT_KEY + postId);
+                        ops.opsForValue().get(COMMENT_COUNT_KEY_PREFIX + postId);
+                    }
+                    return null;
+                }
+            });
+        } catch (Exception e) {
+            log.error("게시글 목록 카운터 조회 실패, DB 값으로 대체합니다.", e);
+        }
+
+        Map<Long, Counters> countersByPostId = new HashMap<>();
+        for (int i = 0; i < boards.size(); i++) {
+            BoardSummary board = boards.get(i);
+            Counters fallback = fallbackCounters(board);
+            Integer likeCount = results != null ? toInteger(results.get(i * 3)) : null;
+            Integer viewCount = results != null ? toInteger(results.get(i * 3 + 1)) : null;
+            Integer commentCount = results != null ? toInteger(results.get(i * 3 + 2)) : null;
+            countersByPostId.put(board.getPostId(), new Counters(
+                    viewCount != null ? viewCount : fallback.viewCount,
+                    likeCount != null ? likeCount : fallback.likeCount,
+                    commentCount != null ? commentCount : fallback.commentCount));
+        }
+        return countersByPostId;
+    }
+
+    //DB 컬럼 값
+    private static Counters fallbackCounters(BoardSummary board) {
+        return new Counters(
+                board.getViewCount() != null ? board.getViewCount().intValue() : 0,
+                board.getLikeCount() != null ? board.getLikeCount() : 0,
+                board.getCommentCount() != null ? board.getCommentCount() : 0);
+    }
+
+    private Integer toInteger(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Number number) {
+            // SCARD 0은 실제 좋아요 0개 (Redis는 빈 Set을 삭제하므로 키 없음 = 0개, DB likeCount도 Set 크기로 동기화됨)
+            return number.intValue();
+        }
+        try {
+            return Integer.parseInt(value.toString().trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    static class Counters {
+        private final int viewCount;
+        private final int likeCount;
+        private final int commentCount;
+    }
+}
@@ -0,0 +1,385 @@
+package com.garret.dreammoa.domain.service.board;
+
+import com.garret.dreammoa.domain.model.BoardEntity;
+import com.garret.dreammoa.domain.repository.BoardRepository;
+import com.garret.dreammoa.domain.repository.projection.BoardSummary;
+import com.garret.dreammoa.domain.service.counter.CounterWriteBehind;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 조회수/좋아요/댓글수 랭킹 (Redis Sorted Set)
+ * - 카테고리별 ZSET: ranking:{views|likes|comments}:{category}, 메인 인기글용 전체 ZSET: ranking:views
+ * - 기존 viewCount{postId}, commentCount:{postId} 증감과 같은 Lua 스크립트 안에서 ZINCRBY 하여 원자적으로 갱신
+ *   (좋아요 랭킹은 LikeStore의 좋아요 스크립트 안에서 갱신)
+ * - 랭킹 조회는 ZREVRANGE(O(log N + k))로 MySQL 정렬 없이 처리
+ */
+@Service
+@Slf4j
+public class BoardRankingService {
+
+    public enum Metric {
+        VIEWS("views"), LIKES("likes"), COMMENTS("comments");
+
+        private final String keyName;
+
+        Metric(String keyName) {
+            this.keyName = keyName;
+        }
+    }
+
+    // 삭제된 게시글 표시 board:deleted:{postId} (노드마다 다른 로컬 캐시와 달리 모든 노드가 같은 값을 봄, 좋아요 스크립트에서 확인)
+    // 다른 노드의 카테고리 캐시에 남은 항목이 만료될 때까지만 필요하므로 캐시 TTL보다 길게 유지하고 자동 만료
+    private static final String DELETED_KEY_PREFIX = "board:deleted:";
+    private static final Duration CATEGORY_CACHE_TTL = Duration.ofHours(1);
+    private static final Duration DELETED_MARKER_TTL = CATEGORY_CACHE_TTL.multipliedBy(2);
+
+    private static final String RANKING_KEY_PREFIX = "ranking:";
+    private static final int REBUILD_CHUNK_SIZE = 500;
+    private static final String REBUILD_LOCK_KEY = "ranking:rebuild:lock";
+    private static final Duration REBUILD_LOCK_TTL = Duration.ofMinutes(10);
+
+    // KEYS[1]=카운터 키, KEYS[2]=dirty SET(DB 동기화 대상), KEYS[3..]=랭킹 ZSET / ARGV[1]=postId, ARGV[2]=증감값, ARGV[3]=시작값
+    // 카운터 키가 없으면(초기화/유실) 시작값(DB 값)에서 증감 (0부터 시작하면 write-behind가 DB 값을 덮어씀)
+    private static final RedisScript<Long> COUNTER_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then redis.call('SET', KEYS[1], ARGV[3]) end " +
+            "local count = redis.call('INCRBY', KEYS[1], ARGV[2]) " +
+            "redis.call('SADD', KEYS[2], ARGV[1]) " +
+            "for i = 3, #KEYS do redis.call('ZINCRBY', KEYS[i], ARGV[2], ARGV[1]) end " +
+            "return count", Long.class);
+
+    // 여러 게시글의 조회를 한 번에 기록 (노드 내부 버퍼 flush)
+    // KEYS[1]=조회수 dirty SET, KEYS[2]=순 방문자 dirty SET, 이후 게시글마다 [viewCount{postId}, viewers:{postId}, 랭킹 ZSET...]
+    // ARGV: 게시글마다 [postId, 조회수 증가값, 랭킹 ZSET 수, 방문자 수, 방문자 식별자...]
+    // 새 방문자가 있는 경우에만 순 방문자 dirty SET에 기록
+    private static final RedisScript<Long> VIEW_BATCH_SCRIPT = new DefaultRedisScript<>(
+            "local k, a = 3, 1 " +
+            "while a <= #ARGV do " +
+            "  local postId, delta = ARGV[a], tonumber(ARGV[a + 1]) " +
+            "  local rankings, viewers = tonumber(ARGV[a + 2]), tonumber(ARGV[a + 3]) " +
+            "  a = a + 4 " +
+            "  if delta > 0 then " +
+            "    redis.call('INCRBY', KEYS[k], delta) " +
+            "    redis.call('SADD', KEYS[1], postId) " +
+            "    for i = k + 2, k + 1 + rankings do redis.call('ZINCRBY', KEYS[i], delta, postId) end " +
+            "  end " +
+            "  local added = 0 " +
+            "  for j = a, a + viewers - 1 do added = added + redis.call('PFADD', KEYS[k + 1], ARGV[j]) end " +
+            "  if added > 0 then redis.call('SADD', KEYS[2], postId) end " +
+            "  a = a + viewers " +
+            "  k = k + 2 + rankings " +
+            "end " +
+            "return 0", Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final BoardRepository boardRepository;
+    private final BoardPageAssembler boardPageAssembler;
+
+    // postId -> 카테고리 (증감 시 어떤 카테고리 ZSET을 갱신할지 결정, 카테고리는 수정되지 않음)
+    // 삭제된 게시글 항목이 다른 노드에서 삭제 표시보다 오래 남지 않도록 접근과 관계없이 쓰기 기준으로 만료
+    private final Cache<Long, BoardEntity.Category> categoryCache = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(CATEGORY_CACHE_TTL)
+            .build();
+
+    public BoardRankingService(RedisTemplate<String, String> redisTemplate,
+                               BoardRepository boardRepository,
+                               BoardPageAssembler boardPageAssembler) {
+        this.redisTemplate = redisTemplate;
+        this.boardRepository = boardRepository;
+        this.boardPageAssembler = boardPageAssembler;
+    }
+
+    //==============================================================================
+    // 카운터 + 랭킹 원자적 증감
+
+    //조회수 증가 (viewCount{postId} INCRBY + dirty SADD + ZINCRBY), 증가 후 조회수 반환
+    public long incrementViewCount(Long postId, long delta) {
+        return executeCounterScript(CounterWriteBehind.Counter.VIEWS, Metric.VIEWS, postId, delta, 0L);
+    }
+
+    //여러 게시글의 조회수 증가 + 순 방문자 PFADD + ZINCRBY를 스크립트 한 번으로 기록
+    public void recordViews(List<ViewBatch> batches) {
+        if (batches.isEmpty()) {
+            return;
+        }
+        List<String> keys = new ArrayList<>();
+        List<String> args = new ArrayList<>();
+        keys.add(CounterWriteBehind.Counter.VIEWS.dirtyKey());
+        keys.add(CounterWriteBehind.Counter.UNIQUE_VIEWS.dirtyKey());
+        for (ViewBatch batch : batches) {
+            List<String> rankingKeys = rankingKeys(Metric.VIEWS, batch.getPostId());
+            keys.add(CounterWriteBehind.Counter.VIEWS.key(batch.getPostId()));
+            keys.add(CounterWriteBehind.Counter.UNIQUE_VIEWS.key(batch.getPostId()));
+            keys.addAll(rankingKeys);
+            args.add(String.valueOf(batch.getPostId()));
+            args.add(String.valueOf(batch.getCount()));
+            args.add(String.valueOf(rankingKeys.size()));
+            args.add(String.valueOf(batch.getViewerIds().size()));
+            args.addAll(batch.getViewerIds());
+        }
+        redisTemplate.execute(VIEW_BATCH_SCRIPT, keys, args.toArray());
+    }
+
+    //댓글수 증감 (commentCount:{postId} INCRBY + dirty SADD + ZINCRBY), 변경 후 댓글수 반환
+    //currentCount: 증감 전 DB 댓글수 (Redis 키가 없을 때 시작값)
+    public long incrementCommentCount(Long postId, long delta, long currentCount) {
+        return executeCounterScript(CounterWriteBehind.Counter.COMMENTS, Metric.COMMENTS, postId, delta, currentCount);
+    }
+
+    private long executeCounterScript(CounterWriteBehind.Counter counter, Metric metric, Long postId, long delta, long initialValue) {
+        List<String> keys = new ArrayList<>();
+        keys.add(counter.key(postId));
+        keys.add(counter.dirtyKey());
+        keys.addAll(rankingKeys(metric, postId));
+        Long count = redisTemplate.execute(COUNTER_SCRIPT, keys, String.valueOf(postId), String.valueOf(delta), String.valueOf(initialValue));
+        return count != null ? count : 0L;
+    }
+
+    //==============================================================================
+    // 게시글 등록/삭제
+
+    public void register(BoardEntity board) {
+        String member = String.valueOf(board.getPostId());
+        categoryCache.put(board.getPostId(), board.getCategory());
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                ops.opsForZSet().addIfAbsent(globalKey(Metric.VIEWS), member, 0);
+                for (Metric metric : Metric.values()) {
+                    ops.opsForZSet().addIfAbsent(categoryKey(metric, board.getCategory()), member, 0);
+                }
+                return null;
+            }
+        });
+    }
+
+    public void remove(Long postId, BoardEntity.Category category) {
+        String member = String.valueOf(postId);
+        // 카테고리 캐시 무효화는 이 노드에만 적용되므로 삭제 표시는 Redis에 남겨 모든 노드의 좋아요 스크립트가 확인
+        redisTemplate.opsForValue().set(deletedKey(postId), "1", DELETED_MARKER_TTL);
+        categoryCache.invalidate(postId);
+        redisTemplate.opsForZSet().remove(globalKey(Metric.VIEWS), member);
+        for (Metric metric : Metric.values()) {
+            redisTemplate.opsForZSet().remove(categoryKey(metric, category), member);
+        }
+    }
+
+    //==============================================================================
+    // 랭킹 조회
+
+    /**
+     * 카테고리 랭킹의 [offset, offset + size) 구간을 조회한다.
+     * 각 게시글의 조회수/좋아요/댓글수 점수는 ZMSCORE 파이프라인 한 번으로 함께 가져온다.
+     */
+    public RankedPage getRange(Metric metric, BoardEntity.Category category, long offset, int size) {
+        String key = categoryKey(metric, category);
+        Long total = redisTemplate.opsForZSet().zCard(key);
+        Set<String> members = redisTemplate.opsForZSet().reverseRange(key, offset, offset + size - 1);
+        if (members == null || members.isEmpty()) {
+            return new RankedPage(new ArrayList<>(), total != null ? total : 0L);
+        }
+
+        Object[] memberArray = members.toArray();
+        List<Object> scores = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                for (Metric m : Metric.values()) {
+                    ops.opsForZSet().score(categoryKey(m, category), memberArray);
+                }
+                return null;
+            }
+        });
+
+        List<RankedBoard> boards = new ArrayList<>(memberArray.length);
+        for (int i = 0; i < memberArray.length; i++) {
+            boards.add(new RankedBoard(
+                    Long.parseLong((String) memberArray[i]),
+                    scoreAt(scores.get(Metric.VIEWS.ordinal()), i),
+                    scoreAt(scores.get(Metric.LIKES.ordinal()), i),
+                    scoreAt(scores.get(Metric.COMMENTS.ordinal()), i)));
+        }
+        return new RankedPage(boards, total != null ? total : 0L);
+    }
+
+    //전체 카테고리 조회수 상위 N개 (postId, 조회수) - 메인 인기글
+    public List<ZSetOperations.TypedTuple<String>> getTopViewed(int limit) {
+        Set<ZSetOperations.TypedTuple<String>> tuples =
+                redisTemplate.opsForZSet().reverseRangeWithScores(globalKey(Metric.VIEWS), 0, limit - 1);
+        return tuples != null ? new ArrayList<>(tuples) : new ArrayList<>();
+    }
+
+    //특정 게시글의 카테고리 내 순위 (1위부터, 없으면 null)
+    public Long getRank(Metric metric, BoardEntity.Category category, Long postId) {
+        Long rank = redisTemplate.opsForZSet().reverseRank(categoryKey(metric, category), String.valueOf(postId));
+        return rank != null ? rank + 1 : null;
+    }
+
+    //==============================================================================
+    // 초기 적재
+
+    /**
+     * 랭킹 ZSET이 없으면(최초 배포, Redis 초기화 등) DB를 청크 단위로 읽어 다시 채운다.
+     * 점수는 Redis 카운터 값을 우선 사용하고 없으면 DB 컬럼 값을 사용한다.
+     * 여러 노드가 동시에 시작해도 한 노드만 재구성 (늦게 끝난 노드가 오래된 점수로 덮어쓰지 않도록)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfMissing() {
+        String lockOwner = UUID.randomUUID().toString();
+        try {
+            if (Boolean.TRUE.equals(redisTemplate.hasKey(globalKey(Metric.VIEWS)))) {
+                return;
+            }
+            if (!Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(REBUILD_LOCK_KEY, lockOwner, REBUILD_LOCK_TTL))) {
+                log.info("다른 노드에서 랭킹 ZSET 재구성이 진행 중입니다.");
+                return;
+            }
+        } catch (Exception e) {
+            log.error("랭킹 ZSET 재구성 잠금 획득 실패", e);
+            return;
+        }
+        try {
+            // 잠금을 기다리는 사이 다른 노드가 재구성을 끝냈으면 건너뜀
+            if (Boolean.TRUE.equals(redisTemplate.hasKey(globalKey(Metric.VIEWS)))) {
+                return;
+            }
+            log.info("랭킹 ZSET이 없어 DB 기준으로 재구성합니다.");
+
+            long lastPostId = 0L;
+            int total = 0;
+            while (true) {
+                List<BoardSummary> chunk = boardRepository.findChunkAfterPostId(lastPostId, PageRequest.of(0, REBUILD_CHUNK_SIZE));
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                Map<Long, BoardPageAssembler.Counters> counters = boardPageAssembler.loadCounters(chunk);
+                redisTemplate.executePipelined(new SessionCallback<Object>() {
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                        RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                        for (BoardSummary board : chunk) {
+                            String member = String.valueOf(board.getPostId());
+                            BoardPageAssembler.Counters c = counters.get(board.getPostId());
+                            ops.opsForZSet().add(globalKey(Metric.VIEWS), member, c.getViewCount());
+                            ops.opsForZSet().add(categoryKey(Metric.VIEWS, board.getCategory()), member, c.getViewCount());
+                            ops.opsForZSet().add(categoryKey(Metric.LIKES, board.getCategory()), member, c.getLikeCount());
+                            ops.opsForZSet().add(categoryKey(Metric.COMMENTS, board.getCategory()), member, c.getCommentCount());
+                        }
+                        return null;
+                    }
+                });
+                total += chunk.size();
+                lastPostId = chunk.get(chunk.size() - 1).getPostId();
+                redisTemplate.expire(REBUILD_LOCK_KEY, REBUILD_LOCK_TTL); // 진행 중에는 잠금 연장
+            }
+            log.info("랭킹 ZSET 재구성 완료: {}개 게시글", total);
+        } catch (Exception e) {
+            log.error("랭킹 ZSET 재구성 중 오류 발생", e);
+        } finally {
+            if (lockOwner.equals(redisTemplate.opsForValue().get(REBUILD_LOCK_KEY))) {
+                redisTemplate.delete(REBUILD_LOCK_KEY);
+            }
+        }
+    }
+
+    //==============================================================================
+
+    //증감 시 갱신할 랭킹 ZSET 키 (카테고리를 찾을 수 없는, 존재한 적 없는 게시글이면 빈 목록)
+    public List<String> rankingKeys(Metric metric, Long postId) {
+        List<String> keys = new ArrayList<>();
+        BoardEntity.Category category = resolveCategory(postId);
+        if (category == null) {
+            return keys; // 존재하지 않는 게시글은 랭킹에 추가하지 않음
+        }
+        if (metric == Metric.VIEWS) {
+            keys.add(globalKey(Metric.VIEWS));
+        }
+        keys.add(categoryKey(metric, category));
+        return keys;
+    }
+
+    private BoardEntity.Category resolveCategory(Long postId) {
+        BoardEntity.Category cached = categoryCache.getIfPresent(postId);
+        if (cached != null) {
+            return cached;
+        }
+        BoardEntity.Category category = boardRepository.findCategoryByPostId(postId).orElse(null);
+        if (category != null) {
+            categoryCache.put(postId, category);
+        }
+        return category;
+    }
+
+    //삭제된 게시글 표시 키 (TTL 동안만 유지, 이후에는 카테고리를 찾을 수 없어 존재하지 않는 게시글로 처리)
+    public static String deletedKey(Long postId) {
+        return DELETED_KEY_PREFIX + postId;
+    }
+
+    private static String globalKey(Metric metric) {
+        return RANKING_KEY_PREFIX + metric.keyName;
+    }
+
+    private static String categoryKey(Metric metric, BoardEntity.Category category) {
+        return RANKING_KEY_PREFIX + metric.keyName + ":" + category.name();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int scoreAt(Object scores, int index) {
+        if (!(scores instanceof List)) {
+            return 0;
+        }
+        Object score = ((List<Object>) scores).get(index);
+        return score instanceof Number number ? number.intValue() : 0;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class RankedBoard {
+        private final Long postId;
+        private final int viewCount;
+        private final int likeCount;
+        private final int commentCount;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class ViewBatch {
+        private final Long postId;
+        private final long count;
+        private final Collection<String> viewerIds;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class RankedPage {
+        private final List<RankedBoard> boards;
+        private final long total;
+    }
+}
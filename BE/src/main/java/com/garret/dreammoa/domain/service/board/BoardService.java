@@ -2,10 +2,13 @@ package com.garret.dreammoa.domain.service.board;
 
 import com.garret.dreammoa.domain.dto.board.requestdto.BoardRequestDto;
 import com.garret.dreammoa.domain.dto.board.responsedto.BoardResponseDto;
+import com.garret.dreammoa.domain.dto.board.responsedto.CursorPageResponseDto;
 import com.garret.dreammoa.domain.model.BoardEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface BoardService {
@@ -15,8 +18,6 @@ public interface BoardService {
 
     // 조회
     BoardResponseDto getBoard(Long postId);
-//    List<BoardResponseDto> getBoardList();
-    List<BoardResponseDto> getBoardListSortedByViews();
 
     // 수정
     BoardResponseDto updateBoard(Long postId, BoardRequestDto dto);
@@ -27,7 +28,8 @@ public interface BoardService {
     //전체 게시글 개수 조회
     int getTotalBoardCount();
 
-    List<BoardResponseDto> getBoardList();
+    // 전체 목록을 청크 단위로 변환하며 JSON 배열로 바로 출력 (최대 limit건, 상한은 board.list.max-size)
+    void writeBoardList(OutputStream out, boolean sortByViews, int limit) throws IOException;
 
     //카테고리별 게시글 개수 조회
     int getBoardCountByCategory(String category);
@@ -48,6 +50,10 @@ public interface BoardService {
     //댓글수 기준 정렬(내림차순) + 페이징
     Page<BoardResponseDto> getBoardListSortedByCommentCount(Pageable pageable, BoardEntity.Category category);
 
+    //정렬 기준별 커서(키셋) 페이징 - COUNT 쿼리 없이 다음 커서 반환
+    CursorPageResponseDto<BoardResponseDto> getBoardListByCursor(BoardEntity.Category category, BoardSortType sortType,
+                                                                 String cursor, int size);
+
     // 태그 검색
     Page<BoardResponseDto> searchByTag(String tag, Pageable pageable);
 
@@ -1,42 +1,51 @@
 package com.garret.dreammoa.domain.service.board;
 
-import com.garret.dreammoa.domain.document.BoardDocument;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.garret.dreammoa.domain.dto.board.requestdto.BoardRequestDto;
 import com.garret.dreammoa.domain.dto.board.responsedto.BoardResponseDto;
+import com.garret.dreammoa.domain.dto.board.responsedto.CursorPageResponseDto;
 import com.garret.dreammoa.domain.dto.user.CustomUserDetails;
 import com.garret.dreammoa.domain.model.*;
 import com.garret.dreammoa.domain.repository.*;
+import com.garret.dreammoa.domain.repository.projection.BoardSummary;
+import com.garret.dreammoa.domain.service.counter.CounterWriteBehind;
 import com.garret.dreammoa.domain.service.file.FileService;
-import com.garret.dreammoa.domain.service.embedding.EmbeddingService;
 import com.garret.dreammoa.domain.service.like.LikeService;
 import com.garret.dreammoa.domain.service.tag.TagService;
+import com.garret.dreammoa.domain.service.viewcount.ViewCountBuffer;
 import com.garret.dreammoa.domain.service.viewcount.ViewCountService;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
-import org.jsoup.nodes.Element;
-import org.jsoup.select.Elements;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.TransactionSynchronization;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
-import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -44,21 +53,33 @@ import java.util.stream.Collectors;
 @Slf4j
 public class BoardServiceImpl implements BoardService {
 
-    private final FileService fileService;
     private final ViewCountService viewCountService;
+    private final ViewCountBuffer viewCountBuffer;
     private final LikeService likeService;
     private final BoardRepository boardRepository;
     private final UserRepository userRepository;
     private final CommentRepository commentRepository;
     private final Logger logger = LoggerFactory.getLogger(BoardServiceImpl.class);
-    private final @Qualifier("boardDtoRedisTemplate") RedisTemplate<String, BoardResponseDto> boardDtoRedisTemplate;
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final int LIST_CHUNK_SIZE = 100;
     // 문자열 전용 RedisTemplate (댓글 수와 같은 단순 값을 위한 캐싱)
     private final RedisTemplate<String, String> redisTemplate;
-    private final BoardSearchRepository boardSearchRepository;
-    private final EmbeddingService embeddingService;
+    private final BoardSearchOutboxRepository boardSearchOutboxRepository;
     private final TagService tagService;
     private final BoardTagRepository boardTagRepository;
     private final LikeRepository likeRepository;
+    private final BoardPageAssembler boardPageAssembler;
+    private final BoardDetailCache boardDetailCache;
+    private final BoardRankingService boardRankingService;
+    private final BoardSummaryWriter boardSummaryWriter;
+    private final BoardImageUploader boardImageUploader;
+    private final FileService fileService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    // 전체 목록 조회 시 한 번에 내려줄 수 있는 최대 게시글 수
+    @Value("${board.list.max-size:1000}")
+    private int maxListSize;
 
     @PostConstruct
     public void initializeBoardCount() {
@@ -75,100 +96,66 @@ public class BoardServiceImpl implements BoardService {
 
     /**
      * CREATE
+     * Base64 이미지 업로드(S3 PUT)는 트랜잭션 밖에서 먼저 수행하고,
+     * 게시글/태그/이미지 레코드/아웃박스 저장만 짧은 트랜잭션 하나로 묶는다. (업로드 동안 DB 커넥션을 잡지 않음)
      */
     @Override
-    @Transactional
     public BoardResponseDto createBoard(BoardRequestDto dto) {
 
-        // 작성자 인증 및 사용자 조회
+        // 작성자 인증
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !authentication.isAuthenticated()) {
             throw new RuntimeException("사용자가 인증되지 않았습니다.");
         }
         CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
 
-
-        UserEntity user = userRepository.findById(userDetails.getId())
-                .orElseThrow(() -> new RuntimeException("해당 사용자 없음: id=" + userDetails.getId()));
-
         // 카테고리(문자열 "질문" or "자유") -> Enum 변환
         BoardEntity.Category category = BoardEntity.Category.valueOf(dto.getCategory());
 
-        // 엔티티 생성 (content는 일단 빈 문자열)
-        BoardEntity board = BoardEntity.builder()
-                .user(user)
-                .category(category)
-                .title(dto.getTitle())
-                .content("")
-                .build();
+        // Quill 본문 내의 Base64 이미지를 S3 업로드하고 URL로 치환 (S3 키는 내용 해시라 postId가 필요 없음)
+        BoardImageUploader.UploadedContent content = boardImageUploader.uploadAndReplace(dto.getContent());
 
-        // 게시글을 먼저 저장하여 postId를 확보 (저장 후엔 board.getPostId()가 생성됨)
-        BoardEntity savedBoard = boardRepository.saveAndFlush(board);
+        return transactionTemplate.execute(status -> {
+            UserEntity user = userRepository.findById(userDetails.getId())
+                    .orElseThrow(() -> new RuntimeException("해당 사용자 없음: id=" + userDetails.getId()));
 
-        // 태그 저장
-        saveTagsForBoard(savedBoard, dto.getTags());
+            // 치환된 최종 HTML로 엔티티 생성 (목록용 요약도 함께 계산)
+            BoardEntity board = BoardEntity.builder()
+                    .user(user)
+                    .category(category)
+                    .title(dto.getTitle())
+                    .content(content.getHtml())
+                    .build();
+            boardSummaryWriter.apply(board, dto.getTags());
+            BoardEntity savedBoard = boardRepository.saveAndFlush(board);
 
-        // 확보된 postId를 사용해 Quill 본문 내의 Base64 이미지를 S3 업로드하고 URL로 치환
-        String finalContent = parseAndUploadBase64Images(dto.getContent(), savedBoard.getPostId());
+            // 태그 저장
+            saveTagsForBoard(savedBoard, dto.getTags());
 
-        // 치환된 최종 HTML을 다시 board 객체에 반영한 후 UPDATE
-        savedBoard.setContent(finalContent);
-        BoardEntity updatedBoard = boardRepository.saveAndFlush(savedBoard);
+            // 업로드된 이미지의 file 레코드 (게시글과 같은 트랜잭션)
+            fileService.saveUploadedImages(content.getImages(), savedBoard.getPostId(), FileEntity.RelatedType.POST);
 
-        // Elasticsearch에 동기화
-        syncToElasticsearch(updatedBoard);
+            // Elasticsearch 색인은 같은 트랜잭션의 아웃박스에 기록 후 BoardSearchIndexer가 비동기로 반영
+            enqueueSearchSync(savedBoard.getPostId(), BoardSearchOutboxEntity.Operation.UPSERT);
 
-        // 트랜잭션 커밋 후 Redis 업데이트
-        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
-            @Override
-            public void afterCommit() {
+            // 트랜잭션 커밋 후 Redis 업데이트
+            runAfterCommit(() -> {
                 Long newTotalCount = redisTemplate.opsForValue().increment("board:count", 1);
                 logger.debug("전체 게시글 카운터 업데이트 후 새 값: {}", newTotalCount);
 
-                String categoryKey = "board:count:" + updatedBoard.getCategory().name();
+                String categoryKey = "board:count:" + savedBoard.getCategory().name();
                 Long newCategoryCount = redisTemplate.opsForValue().increment(categoryKey, 1);
                 logger.debug("게시글 생성 후 카테고리별 카운터 업데이트, 키: {}, 새 값: {}", categoryKey, newCategoryCount);
-            }
-            @Override public void suspend() {}
-            @Override public void resume() {}
-            @Override public void flush() {}
-            @Override public void beforeCommit(boolean readOnly) {}
-            @Override public void beforeCompletion() {}
-            @Override public void afterCompletion(int status) {}
-        });
-
-        return convertToResponseDto(updatedBoard, 0);
-    }
 
-    /**
-     * Base64 이미지를 S3 URL로 치환하는 메서드 (postId를 사용)
-     */
-    private String parseAndUploadBase64Images(String originalHtml, Long postId) {
-        if (originalHtml == null || originalHtml.trim().isEmpty()) {
-            return originalHtml;
-        }
+                // 랭킹 ZSET에 점수 0으로 등록
+                boardRankingService.register(savedBoard);
+            });
 
-        Document doc = Jsoup.parseBodyFragment(originalHtml);
-        Elements imgTags = doc.select("img");
-        for (Element img : imgTags) {
-            String src = img.attr("src");
-            if (src != null && src.startsWith("data:image")) {
-                String[] parts = src.split(",", 2);
-                if (parts.length == 2) {
-                    String base64 = parts[1];
-                    try {
-                        // 실제 postId를 사용하여 S3에 업로드
-                        String s3Url = fileService.saveBase64FileS3(base64, postId, FileEntity.RelatedType.POST);
-                        img.attr("src", s3Url);
-                    } catch (Exception e) {
-                        log.error("S3 업로드 실패: ", e);
-                    }
-                }
-            }
-        }
-        return doc.body().html();
+            return convertToResponseDto(savedBoard, 0);
+        });
     }
 
+
     private void saveTagsForBoard(BoardEntity board, List<String> tagNames) {
         if (tagNames == null || tagNames.isEmpty()) {
             return;
@@ -185,13 +172,29 @@ public class BoardServiceImpl implements BoardService {
 
     /**
      * UPDATE
+     * 작성자 확인 후 Base64 이미지 업로드는 트랜잭션 밖에서 먼저 수행하고, 변경 사항 저장만 트랜잭션으로 묶는다.
      */
     @Override
     public BoardResponseDto updateBoard(Long postId, BoardRequestDto dto) {
-        BoardEntity board = boardRepository.findById(postId)
+        // 다른 사용자의 요청으로 S3 업로드가 일어나지 않도록 업로드 전에 작성자 확인 (저장 시 한 번 더 확인)
+        Long currentUserId = getCurrentUserId();
+        Long writerId = boardRepository.findUserIdByPostId(postId)
                 .orElseThrow(() -> new RuntimeException("게시글이 존재하지 않습니다. id=" + postId));
+        if (!writerId.equals(currentUserId)) {
+            throw new RuntimeException("본인이 작성한 글만 수정할 수 있습니다.");
+        }
 
-        Long currentUserId = getCurrentUserId();
+        BoardImageUploader.UploadedContent content = dto.getContent() != null
+                ? boardImageUploader.uploadAndReplace(dto.getContent())
+                : null;
+
+        return transactionTemplate.execute(status -> saveUpdatedBoard(postId, currentUserId, dto, content));
+    }
+
+    private BoardResponseDto saveUpdatedBoard(Long postId, Long currentUserId, BoardRequestDto dto,
+                                              BoardImageUploader.UploadedContent content) {
+        BoardEntity board = boardRepository.findById(postId)
+                .orElseThrow(() -> new RuntimeException("게시글이 존재하지 않습니다. id=" + postId));
         if (!board.getUser().getId().equals(currentUserId)) {
             throw new RuntimeException("본인이 작성한 글만 수정할 수 있습니다.");
         }
@@ -199,25 +202,27 @@ public class BoardServiceImpl implements BoardService {
         if (dto.getTitle() != null) {
             board.setTitle(dto.getTitle());
         }
-        if (dto.getContent() != null) {
-            String finalContent = parseAndUploadBase64Images(dto.getContent());
+        if (content != null) {
             log.debug("▶ updateBoard() 최종 치환된 content 길이: {}",
-                    finalContent != null ? finalContent.length() : 0);
+                    content.getHtml() != null ? content.getHtml().length() : 0);
 
-            board.setContent(finalContent);
+            board.setContent(content.getHtml());
+            fileService.saveUploadedImages(content.getImages(), postId, FileEntity.RelatedType.POST);
         }
 
         // 기존 태그를 유지하면서 추가/삭제 반영
         updateTagsForBoard(board, dto.getTags());
 
+        // 목록용 요약(평문 요약, 대표 이미지, 태그) 재계산
+        boardSummaryWriter.apply(board, dto.getTags());
+
         BoardEntity updated = boardRepository.save(board);
 
-        // Elasticsearch에 동기화
-        syncToElasticsearch(updated);
+        // Elasticsearch 색인 아웃박스 기록
+        enqueueSearchSync(postId, BoardSearchOutboxEntity.Operation.UPSERT);
 
-        // 캐시 삭제
-        String cacheKey = "board:" + postId;
-        boardDtoRedisTemplate.delete(cacheKey);
+        // 캐시 삭제 (L2 삭제 + 전체 노드 L1 무효화), 커밋 전 값으로 다시 채워지지 않도록 커밋 후 실행
+        runAfterCommit(() -> boardDetailCache.evict(postId));
 
         int viewCount = viewCountService.getViewCount(postId);
         return convertToResponseDto(updated, viewCount);
@@ -255,35 +260,6 @@ public class BoardServiceImpl implements BoardService {
     }
 
     //==============================================================================
-    /**
-     * base64 -> URL 치환 (에디터 HTML에서 <img src="data:image/...">를 찾아 업로드)
-     */
-    private String parseAndUploadBase64Images(String originalHtml) {
-        if (originalHtml == null || originalHtml.trim().isEmpty()) {
-            return originalHtml;
-        }
-
-        Document doc = Jsoup.parseBodyFragment(originalHtml);
-        Elements imgTags = doc.select("img");
-        for (Element img : imgTags) {
-            String src = img.attr("src");
-            if (src != null && src.startsWith("data:image")) {
-                String[] parts = src.split(",", 2);
-                if (parts.length == 2) {
-                    String base64 = parts[1];
-                    try {
-                        // **여기서 fileService.saveBase64FileS3(...) 호출**
-                        String s3Url = fileService.saveBase64FileS3(base64, 0L, FileEntity.RelatedType.POST);
-                        // 치환
-                        img.attr("src", s3Url);
-                    } catch (Exception e) {
-                        log.error("S3 업로드 실패: ", e);
-                    }
-                }
-            }
-        }
-        return doc.body().html();
-    }
     //==============================================================================
 
     /**
@@ -292,47 +268,78 @@ public class BoardServiceImpl implements BoardService {
     @Override
     public BoardResponseDto getBoard(Long postId) {
         BoardResponseDto dto = getBoardDtoFromCache(postId);
-        int commentCount = getCommentCountFromCache(postId);
-        dto.setCommentCount(commentCount);
 
-        int updatedViewCount = viewCountService.getViewCount(postId);
-        dto.setViewCount(updatedViewCount);
+        // 댓글 수, 조회수, 순 방문자 수(PFCOUNT)를 파이프라인 한 번으로 조회
+        List<Object> counts = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                ops.opsForValue().get("commentCount:" + postId);
+                ops.opsForValue().get("viewCount" + postId);
+                ops.opsForHyperLogLog().size(CounterWriteBehind.Counter.UNIQUE_VIEWS.key(postId));
+                return null;
+            }
+        });
+        String commentCountStr = counts.get(0) != null ? counts.get(0).toString() : null;
+        String viewCountStr = counts.get(1) != null ? counts.get(1).toString() : null;
+
+        int commentCount = (commentCountStr != null && commentCountStr.matches("-?\\d+"))
+                ? Integer.parseInt(commentCountStr) : getCommentCountFromCache(postId);
+        dto.setCommentCount(commentCount);
+        long pendingViews = viewCountBuffer.pending(postId); // 아직 Redis에 반영되지 않은 이 노드의 조회수
+        dto.setViewCount((int) ((viewCountStr != null ? Long.parseLong(viewCountStr) : 0L) + pendingViews));
+        dto.setUniqueViewCount(counts.get(2) instanceof Number unique ? unique.intValue() : 0);
 
         return dto;
     }
 
     /**
      * 게시글 전체 조회
+     * - findAll() 대신 (정렬키, postId) 키셋으로 LIST_CHUNK_SIZE건씩 조회
+     * - 청크마다 BoardPageAssembler로 태그/작성자/카운터를 일괄 조회해 바로 응답 스트림에 기록
+     * - 트랜잭션 없이 청크별로 조회하므로 이전 청크의 엔티티는 곧바로 GC 대상이 된다
      */
     @Override
-    public List<BoardResponseDto> getBoardList() {
-        List<BoardEntity> list = boardRepository.findAll();
-        return list.stream()
-                .map(board -> {
-                    int viewCount = viewCountService.getViewCount(board.getPostId());
-                    int commentCount = getCommentCountFromCache(board.getPostId());
-                    return convertToResponseDto(board, viewCount, commentCount);
-                })
-                .collect(Collectors.toList());
-    }
+    public void writeBoardList(OutputStream out, boolean sortByViews, int limit) throws IOException {
+        int remaining = Math.max(1, Math.min(limit, maxListSize));
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.writeStartArray();
+
+            BoardSummary last = null;
+            while (remaining > 0) {
+                Pageable chunkLimit = PageRequest.of(0, Math.min(LIST_CHUNK_SIZE, remaining));
+                List<BoardSummary> chunk = sortByViews
+                        ? (last == null
+                            ? boardRepository.findChunkByViewCount(chunkLimit)
+                            : boardRepository.findChunkByViewCountAfter(last.getViewCount(), last.getPostId(), chunkLimit))
+                        : boardRepository.findChunkAfterPostId(last == null ? 0L : last.getPostId(), chunkLimit);
+                if (chunk.isEmpty()) {
+                    break;
+                }
 
-    @Override
-    public List<BoardResponseDto> getBoardListSortedByViews() {
-        List<BoardEntity> list = boardRepository.findAll();
-        return list.stream()
-                .map(board -> {
-                    int viewCount = viewCountService.getViewCount(board.getPostId());
-                    int commentCount = getCommentCountFromCache(board.getPostId());
-                    return convertToResponseDto(board, viewCount, commentCount);
-                })
-                .sorted((a, b) -> Integer.compare(b.getViewCount(), a.getViewCount()))
-                .collect(Collectors.toList());
+                for (BoardResponseDto dto : boardPageAssembler.assemble(chunk)) {
+                    generator.writeObject(dto);
+                }
+                generator.flush();
+
+                remaining -= chunk.size();
+                last = chunk.get(chunk.size() - 1);
+                if (chunk.size() < chunkLimit.getPageSize()) {
+                    break;
+                }
+            }
+
+            generator.writeEndArray();
+        }
     }
 
     /**
      * DELETE
      */
     @Override
+    @Transactional
     public void deleteBoard(Long postId) {
         BoardEntity board = boardRepository.findById(postId)
                 .orElseThrow(() -> new RuntimeException("게시글이 존재하지 않습니다. id=" + postId));
@@ -348,14 +355,30 @@ public class BoardServiceImpl implements BoardService {
 
         likeRepository.deleteByBoard(board);
 
-        // Elasticsearch에서 해당 게시글 삭제
-        boardSearchRepository.deleteByDocumentId(postId);
+        // 게시글 이미지 레코드 삭제 (다른 게시글이 참조하지 않는 S3 객체는 커밋 후 삭제)
+        fileService.deletePostImages(postId);
+
+        // Elasticsearch 문서 삭제 아웃박스 기록
+        enqueueSearchSync(postId, BoardSearchOutboxEntity.Operation.DELETE);
 
         boardRepository.delete(board);
 
-        redisTemplate.opsForValue().decrement("board:count", 1);
-        String categoryKey = "board:count:" + board.getCategory().name();
-        redisTemplate.opsForValue().decrement(categoryKey, 1);
+        // 캐시/랭킹/카운터는 커밋 후 반영 (롤백 시 Redis만 바뀌거나 커밋 전 값으로 캐시가 다시 채워지는 것 방지)
+        BoardEntity.Category category = board.getCategory();
+        runAfterCommit(() -> {
+            boardDetailCache.evict(postId);
+            boardRankingService.remove(postId, category);
+            // 게시글별 카운터/좋아요 Set/순 방문자 키 정리 (좋아요 기록은 위에서 DB에서도 삭제됨)
+            redisTemplate.delete(List.of(
+                    CounterWriteBehind.Counter.VIEWS.key(postId),
+                    CounterWriteBehind.Counter.UNIQUE_VIEWS.key(postId),
+                    CounterWriteBehind.Counter.LIKES.key(postId),
+                    CounterWriteBehind.Counter.COMMENTS.key(postId)));
+
+            redisTemplate.opsForValue().decrement("board:count", 1);
+            String categoryKey = "board:count:" + category.name();
+            redisTemplate.opsForValue().decrement(categoryKey, 1);
+        });
     }
 
     //==============================================================================
@@ -374,20 +397,12 @@ public class BoardServiceImpl implements BoardService {
 
     @Override
     public BoardResponseDto getBoardDtoFromCache(Long postId) {
-        String key = "board:" + postId;
-        BoardResponseDto cachedDto = boardDtoRedisTemplate.opsForValue().get(key);
-        if (cachedDto != null) {
-            log.info("📌 Redis에서 게시글 DTO (postId={}) 를 가져옴", postId);
-            return cachedDto;
-        }
-        BoardEntity boardEntity = boardRepository.findById(postId)
-                .orElseThrow(() -> new IllegalArgumentException("❌ 게시글이 존재하지 않습니다. postId=" + postId));
-
-        int viewCount = viewCountService.getViewCount(postId);
-        BoardResponseDto dto = convertToResponseDto(boardEntity, viewCount, 0);
-        boardDtoRedisTemplate.opsForValue().set(key, dto);
-        boardDtoRedisTemplate.expire(key, 10, TimeUnit.MINUTES);
-        return dto;
+        return boardDetailCache.get(postId, () -> {
+            BoardEntity boardEntity = boardRepository.findById(postId)
+                    .orElseThrow(() -> new IllegalArgumentException("❌ 게시글이 존재하지 않습니다. postId=" + postId));
+            int viewCount = viewCountService.getViewCount(postId);
+            return convertToResponseDto(boardEntity, viewCount, 0);
+        });
     }
 
     public int getCommentCountFromCache(Long postId) {
@@ -403,130 +418,125 @@ public class BoardServiceImpl implements BoardService {
         BoardEntity board = boardRepository.findById(postId)
                 .orElseThrow(() -> new RuntimeException("게시글이 존재하지 않습니다."));
         int count = commentRepository.countByBoard(board);
-        redisTemplate.opsForValue().set(key, String.valueOf(count));
-        redisTemplate.expire(key, 5, TimeUnit.MINUTES);
+        // 만료 없이 유지 (write-behind 카운터), 동시에 들어온 증감을 덮어쓰지 않도록 키가 없을 때만 저장
+        redisTemplate.opsForValue().setIfAbsent(key, String.valueOf(count));
         return count;
     }
 
     @Override
     public Page<BoardResponseDto> getBoardListSortedByNewest(Pageable pageable, BoardEntity.Category category) {
-        // Repository에서 카테고리 필터링 후 생성일자(createdAt) 내림차순 정렬 및 페이징 처리
-//        Page<BoardEntity> boardPage = boardRepository.findAllByCategoryOrderByCreatedAtDesc(category, pageable);
-
-        Page<BoardEntity> boardPage = boardRepository.findAllByCategoryWithTags(category, pageable);
-
-        return boardPage.map(board -> {
-            int viewCount = board.getViewCount().intValue();
-            int likeCount = likeService.getLikeCount(board.getPostId());
-
-            // ✅ 여기서는 이미 태그를 가져왔으므로 `boardTagRepository`를 호출할 필요 없음!
-            List<String> tags = board.getBoardTags().stream()
-                    .map(bt -> bt.getTag().getTagName())
-                    .collect(Collectors.toList());
-
-        // BoardEntity -> BoardResponseDto 변환
-//        Page<BoardResponseDto> dtoPage = boardPage.map(board -> {
-            // 만약 DB의 viewCount가 최신값이라고 가정 (또는 필요 시 viewCountService를 호출)
-//            int viewCount = board.getViewCount().intValue();
-            return BoardResponseDto.builder()
-                    .postId(board.getPostId())
-                    .userId(board.getUser().getId())
-                    .userNickname(board.getUser().getNickname())
-                    .category(board.getCategory())
-                    .title(board.getTitle())
-                    .content(board.getContent())
-                    .createdAt(board.getCreatedAt())
-                    .updatedAt(board.getUpdatedAt())
-                    .viewCount(viewCount)
-                    .likeCount(likeService.getLikeCount(board.getPostId()))
-                    .commentCount(0)  // 댓글 수 처리는 필요 시 구현
-                    .tags(tags)
-                    .build();
-        });
-//        return dtoPage;
+        // 태그는 BoardPageAssembler가 페이지 단위로 한 번에 조회하므로 컬렉션 fetch join(메모리 페이징) 없이 조회
+        Page<BoardSummary> boardPage = boardRepository.findAllByCategoryOrderByCreatedAtDesc(category, pageable);
+        return boardPageAssembler.assemble(boardPage);
     }
 
     @Override
     public Page<BoardResponseDto> getBoardListSortedByViewCount(Pageable pageable, BoardEntity.Category category) {
-        Page<BoardEntity> boardPage = boardRepository.findAllByCategoryOrderByViewCountDesc(category, pageable);
-
-        return boardPage.map(board -> {
-            int viewCount = board.getViewCount().intValue();
-
-            // ✅ 태그 리스트 가져오기
-            List<String> tags = board.getBoardTags().stream()
-                    .map(bt -> bt.getTag().getTagName())
-                    .collect(Collectors.toList());
-
-            return BoardResponseDto.builder()
-                    .postId(board.getPostId())
-                    .userId(board.getUser().getId())
-                    .userNickname(board.getUser().getNickname())
-                    .category(board.getCategory())
-                    .title(board.getTitle())
-                    .content(board.getContent())
-                    .createdAt(board.getCreatedAt())
-                    .updatedAt(board.getUpdatedAt())
-                    .viewCount(viewCount)
-                    .likeCount(likeService.getLikeCount(board.getPostId()))
-                    .commentCount(0)
-                    .tags(tags) // ✅ 태그 추가됨!
-                    .build();
-        });
+        Page<BoardResponseDto> ranked = getRankedBoardList(BoardRankingService.Metric.VIEWS, pageable, category);
+        if (ranked != null) {
+            return ranked;
+        }
+        Page<BoardSummary> boardPage = boardRepository.findAllByCategoryOrderByViewCountDesc(category, pageable);
+        return boardPageAssembler.assemble(boardPage);
     }
 
     @Override
     public Page<BoardResponseDto> getBoardListSortedByLikeCount(Pageable pageable, BoardEntity.Category category) {
-        Page<BoardEntity> boardPage = boardRepository.findAllByCategoryOrderByLikeCountDesc(category, pageable);
-
-        return boardPage.map(board -> {
-            // ✅ 태그 리스트 가져오기
-            List<String> tags = board.getBoardTags().stream()
-                    .map(bt -> bt.getTag().getTagName())
-                    .collect(Collectors.toList());
-
-            return BoardResponseDto.builder()
-                    .postId(board.getPostId())
-                    .userId(board.getUser().getId())
-                    .userNickname(board.getUser().getNickname())
-                    .category(board.getCategory())
-                    .title(board.getTitle())
-                    .content(board.getContent())
-                    .createdAt(board.getCreatedAt())
-                    .updatedAt(board.getUpdatedAt())
-                    .viewCount(board.getViewCount().intValue())
-                    .likeCount(board.getLikeCount())
-                    .commentCount(0)
-                    .tags(tags) // ✅ 태그 추가됨!
-                    .build();
-        });
+        Page<BoardResponseDto> ranked = getRankedBoardList(BoardRankingService.Metric.LIKES, pageable, category);
+        if (ranked != null) {
+            return ranked;
+        }
+        Page<BoardSummary> boardPage = boardRepository.findAllByCategoryOrderByLikeCountDesc(category, pageable);
+        return boardPageAssembler.assemble(boardPage);
     }
 
     @Override
     public Page<BoardResponseDto> getBoardListSortedByCommentCount(Pageable pageable, BoardEntity.Category category) {
-        Page<BoardEntity> boardPage = boardRepository.findAllByCategoryOrderByCommentCountDesc(category, pageable);
-
-        return boardPage.map(board -> {
-            // ✅ 태그 리스트 가져오기
-            List<String> tags = board.getBoardTags().stream()
-                    .map(bt -> bt.getTag().getTagName())
-                    .collect(Collectors.toList());
-
-            return BoardResponseDto.builder()
-                    .postId(board.getPostId())
-                    .userId(board.getUser().getId())
-                    .userNickname(board.getUser().getNickname())
-                    .category(board.getCategory())
-                    .title(board.getTitle())
-                    .content(board.getContent())
-                    .createdAt(board.getCreatedAt())
-                    .updatedAt(board.getUpdatedAt())
-                    .viewCount(board.getViewCount().intValue())
-                    .likeCount(board.getLikeCount())
-                    .commentCount(board.getCommentCount())
-                    .tags(tags) // ✅ 태그 추가됨!
-                    .build();
-        });
+        Page<BoardResponseDto> ranked = getRankedBoardList(BoardRankingService.Metric.COMMENTS, pageable, category);
+        if (ranked != null) {
+            return ranked;
+        }
+        Page<BoardSummary> boardPage = boardRepository.findAllByCategoryOrderByCommentCountDesc(category, pageable);
+        return boardPageAssembler.assemble(boardPage);
+    }
+
+    /**
+     * 랭킹 ZSET(ZREVRANGE)으로 정렬 목록 조회
+     * 게시글 요약은 postId IN (...) 쿼리 1번으로 가져오고 카운터는 ZSET 점수를 사용한다.
+     * 랭킹이 비어 있거나 Redis 장애 시 null을 반환해 DB 정렬 쿼리로 대체한다.
+     */
+    private Page<BoardResponseDto> getRankedBoardList(BoardRankingService.Metric metric, Pageable pageable,
+                                                     BoardEntity.Category category) {
+        BoardRankingService.RankedPage rankedPage;
+        try {
+            rankedPage = boardRankingService.getRange(metric, category, pageable.getOffset(), pageable.getPageSize());
+        } catch (Exception e) {
+            logger.error("랭킹 조회 실패, DB 정렬로 대체합니다. metric={}, category={}", metric, category, e);
+            return null;
+        }
+        if (rankedPage.getTotal() == 0) {
+            return null;
+        }
+
+        Map<Long, BoardPageAssembler.Counters> countersByPostId = new HashMap<>();
+        for (BoardRankingService.RankedBoard ranked : rankedPage.getBoards()) {
+            countersByPostId.put(ranked.getPostId(), new BoardPageAssembler.Counters(
+                    ranked.getViewCount(), ranked.getLikeCount(), ranked.getCommentCount()));
+        }
+
+        // 랭킹 순서대로 정렬 (DB에서 삭제된 게시글이 랭킹에 남아 있으면 정리)
+        Map<Long, BoardSummary> summariesByPostId = boardRepository.findSummariesByPostIdIn(countersByPostId.keySet()).stream()
+                .collect(Collectors.toMap(BoardSummary::getPostId, Function.identity()));
+        List<BoardSummary> ordered = new ArrayList<>(summariesByPostId.size());
+        for (BoardRankingService.RankedBoard ranked : rankedPage.getBoards()) {
+            BoardSummary summary = summariesByPostId.get(ranked.getPostId());
+            if (summary == null) {
+                boardRankingService.remove(ranked.getPostId(), category);
+                continue;
+            }
+            ordered.add(summary);
+        }
+        return new PageImpl<>(boardPageAssembler.assemble(ordered, countersByPostId), pageable, rankedPage.getTotal());
+    }
+
+    @Override
+    public CursorPageResponseDto<BoardResponseDto> getBoardListByCursor(BoardEntity.Category category, BoardSortType sortType,
+                                                                        String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        BoardCursor after = (cursor == null || cursor.isBlank()) ? null : BoardCursor.decode(cursor, sortType);
+
+        // 다음 페이지 존재 여부 확인을 위해 1개 더 조회 (COUNT 쿼리 없음)
+        List<BoardSummary> rows = findKeysetPage(category, sortType, after, PageRequest.of(0, pageSize + 1));
+        boolean hasNext = rows.size() > pageSize;
+        if (hasNext) {
+            rows = rows.subList(0, pageSize);
+        }
+        String nextCursor = hasNext ? BoardCursor.of(sortType, rows.get(rows.size() - 1)).encode() : null;
+
+        return CursorPageResponseDto.<BoardResponseDto>builder()
+                .content(boardPageAssembler.assemble(rows))
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .totalElements(getBoardCountByCategory(category.name())) // 전체 개수는 Redis 카운터 재사용
+                .build();
+    }
+
+    private List<BoardSummary> findKeysetPage(BoardEntity.Category category, BoardSortType sortType,
+                                              BoardCursor after, Pageable limit) {
+        if (after == null) {
+            return switch (sortType) {
+                case NEWEST -> boardRepository.findKeysetByNewest(category, limit);
+                case VIEWS -> boardRepository.findKeysetByViewCount(category, limit);
+                case LIKES -> boardRepository.findKeysetByLikeCount(category, limit);
+                case COMMENTS -> boardRepository.findKeysetByCommentCount(category, limit);
+            };
+        }
+        return switch (sortType) {
+            case NEWEST -> boardRepository.findKeysetByNewestAfter(category, after.getCreatedAt(), after.getPostId(), limit);
+            case VIEWS -> boardRepository.findKeysetByViewCountAfter(category, after.getLongValue(), after.getPostId(), limit);
+            case LIKES -> boardRepository.findKeysetByLikeCountAfter(category, (int) after.getLongValue(), after.getPostId(), limit);
+            case COMMENTS -> boardRepository.findKeysetByCommentCountAfter(category, (int) after.getLongValue(), after.getPostId(), limit);
+        };
     }
 
 //    @Override
@@ -610,10 +620,10 @@ public class BoardServiceImpl implements BoardService {
         }
 
         //해당 id를 가진 게시글을 페이지네이션 처리하여 조회
-        Page<BoardEntity> boardPage = boardRepository.findByPostIdIn(boardIds, pageable);
+        Page<BoardSummary> boardPage = boardRepository.findByPostIdIn(boardIds, pageable);
 
-        //BoardEntity -> BoardResponseDto 변화 후 반환
-        return boardPage.map(board -> convertToResponseDto(board, viewCountService.getViewCount(board.getPostId())));
+        //BoardEntity -> BoardResponseDto 변환 후 반환 (태그/작성자/카운터 일괄 조회)
+        return boardPageAssembler.assemble(boardPage);
 
     }
 
@@ -638,45 +648,28 @@ public class BoardServiceImpl implements BoardService {
         }
     }
 
-    /**
-     * Elasticsearch 동기화 (MySQL -> Elasticsearch)
-     */
-    private void syncToElasticsearch(BoardEntity board) {
-        try {
-            // 게시글 제목과 내용을 결합하여 임베딩 계산
-            String textForEmbedding = board.getTitle() + " " + board.getContent();
-            float[] embedding = embeddingService.getEmbedding(textForEmbedding);
-
-            // 임베딩 계산이 실패했거나 빈 배열이면 기본 384차원 0.0 배열 사용 (Java에서는 new float[384]가 0.0으로 초기화됨)
-            if (embedding == null || embedding.length == 0) {
-                embedding = new float[384];
-            }
-
-            // float[]를 List<Double>로 변환 (JSON 직렬화를 위해)
-            List<Double> embeddingList = new ArrayList<>();
-            for (float value : embedding) {
-                embeddingList.add((double) value);
+    //트랜잭션 커밋 후 실행 (트랜잭션 밖에서 호출되면 바로 실행)
+    private void runAfterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
             }
+        });
+    }
 
-            // BoardDocument 객체에 임베딩 필드 추가
-            BoardDocument boardDocument = BoardDocument.builder()
-                    .id(board.getPostId())
-                    .userId(board.getUser().getId())
-                    .userNickname(board.getUser().getNickname())
-                    .category(board.getCategory().name())
-                    .title(board.getTitle())
-                    .content(board.getContent())
-                    .createdAt(board.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli())
-                    .updatedAt(board.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli())
-                    .viewCount(board.getViewCount().intValue())
-                    .embedding(embeddingList)  // ← 임베딩 값 추가 (기본값도 포함됨)
-                    .build();
-
-            boardSearchRepository.index(boardDocument);
-            log.info("✅ Elasticsearch 동기화 완료 - 게시글 ID: {}", board.getPostId());
-        } catch (Exception e) {
-            log.error("❌ Elasticsearch 동기화 중 오류 발생: ", e);
-        }
+    /**
+     * Elasticsearch 동기화 이벤트를 아웃박스에 기록 (호출자의 트랜잭션에 포함)
+     */
+    private void enqueueSearchSync(Long postId, BoardSearchOutboxEntity.Operation operation) {
+        boardSearchOutboxRepository.save(BoardSearchOutboxEntity.builder()
+                .postId(postId)
+                .operation(operation)
+                .build());
     }
 
 
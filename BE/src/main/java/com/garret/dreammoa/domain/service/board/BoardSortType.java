@@ -0,0 +1,19 @@
+package com.garret.dreammoa.domain.service.board;
+
+/**
+ * 게시글 목록 정렬 기준 (커서 페이징에서 사용)
+ */
+public enum BoardSortType {
+    NEWEST, VIEWS, LIKES, COMMENTS;
+
+    public static BoardSortType from(String value) {
+        if (value == null || value.isBlank()) {
+            return NEWEST;
+        }
+        try {
+            return BoardSortType.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("지원하지 않는 정렬 기준입니다: " + value);
+        }
+    }
+}
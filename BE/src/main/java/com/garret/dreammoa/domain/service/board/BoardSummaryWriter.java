@@ -0,0 +1,144 @@
+package com.garret.dreammoa.domain.service.board;
+
+import com.garret.dreammoa.domain.model.BoardEntity;
+import com.garret.dreammoa.domain.repository.BoardRepository;
+import com.garret.dreammoa.domain.repository.BoardTagRepository;
+import com.garret.dreammoa.domain.service.boardsearch.BoardTextExtractor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * 게시글 목록용 요약(excerpt, 대표 이미지, 태그 이름) 계산
+ * - 작성/수정 시 BoardEntity에 미리 계산해 두어 목록 조회에서는 본문(content)을 읽지 않는다.
+ * - 요약 컬럼이 추가되기 전의 게시글은 애플리케이션 시작 시 청크 단위로 채운다. (Redis 잠금으로 한 노드만 수행)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BoardSummaryWriter {
+
+    private static final int EXCERPT_LENGTH = 200;
+    private static final int MAX_TAG_NAMES_LENGTH = 1000;
+    private static final String TAG_DELIMITER = ",";
+    private static final int BACKFILL_CHUNK_SIZE = 100;
+    private static final String BACKFILL_LOCK_KEY = "board:summary:backfill:lock";
+    private static final Duration BACKFILL_LOCK_TTL = Duration.ofMinutes(10);
+
+    private final BoardRepository boardRepository;
+    private final BoardTagRepository boardTagRepository;
+    private final BoardTextExtractor textExtractor;
+    private final RedisTemplate<String, String> redisTemplate;
+
+    //게시글 엔티티에 요약 필드 반영 (저장은 호출자가 수행)
+    public void apply(BoardEntity board, Collection<String> tags) {
+        Summary summary = summarize(board.getContent(), tags);
+        board.setExcerpt(summary.excerpt);
+        board.setThumbnailUrl(summary.thumbnailUrl);
+        board.setTagNames(summary.tagNames);
+    }
+
+    //저장된 태그 문자열 -> 태그 목록
+    public static List<String> splitTags(String tagNames) {
+        if (tagNames == null || tagNames.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(Arrays.asList(tagNames.split(TAG_DELIMITER)));
+    }
+
+    private Summary summarize(String html, Collection<String> tags) {
+        // 본문 파싱은 검색 색인과 같은 추출기를 사용 (본문 해시 기준 캐시 공유)
+        String excerpt = truncate(textExtractor.extract(html), EXCERPT_LENGTH);
+        String thumbnailUrl = textExtractor.firstImageUrl(html);
+
+        String tagNames = null;
+        if (tags != null && !tags.isEmpty()) {
+            tagNames = String.join(TAG_DELIMITER, new LinkedHashSet<>(tags));
+            if (tagNames.length() > MAX_TAG_NAMES_LENGTH) {
+                int cut = tagNames.lastIndexOf(TAG_DELIMITER, MAX_TAG_NAMES_LENGTH);
+                tagNames = cut > 0 ? tagNames.substring(0, cut) : null;
+            }
+        }
+        return new Summary(excerpt, thumbnailUrl, tagNames);
+    }
+
+    //서로게이트 쌍이 잘리지 않도록 코드포인트 기준으로 자름
+    private static String truncate(String text, int maxLength) {
+        if (text.length() <= maxLength) {
+            return text;
+        }
+        int end = text.offsetByCodePoints(0, text.codePointCount(0, maxLength));
+        return text.substring(0, end);
+    }
+
+    /**
+     * 요약이 없는 기존 게시글 백필
+     * 청크마다 본문 + 태그를 한 번에 읽고, 요약 컬럼만 UPDATE 한다. (updatedAt 변경 없음)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillMissingSummaries() {
+        // 여러 노드가 동시에 시작해도 한 노드만 백필 (나머지는 건너뜀)
+        String lockOwner = UUID.randomUUID().toString();
+        try {
+            if (!Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(BACKFILL_LOCK_KEY, lockOwner, BACKFILL_LOCK_TTL))) {
+                log.info("다른 노드에서 게시글 목록 요약 백필이 진행 중입니다.");
+                return;
+            }
+        } catch (Exception e) {
+            log.error("게시글 목록 요약 백필 잠금 획득 실패", e);
+            return;
+        }
+        try {
+            long lastPostId = 0L;
+            int total = 0;
+            while (true) {
+                List<Long> postIds = boardRepository.findPostIdsWithoutSummary(lastPostId, PageRequest.of(0, BACKFILL_CHUNK_SIZE));
+                if (postIds.isEmpty()) {
+                    break;
+                }
+
+                Map<Long, List<String>> tagsByPostId = new HashMap<>();
+                for (Object[] row : boardTagRepository.findTagNamesByPostIdIn(postIds)) {
+                    tagsByPostId.computeIfAbsent(((Number) row[0]).longValue(), k -> new ArrayList<>()).add((String) row[1]);
+                }
+
+                for (BoardEntity board : boardRepository.findAllById(postIds)) {
+                    Summary summary = summarize(board.getContent(), tagsByPostId.get(board.getPostId()));
+                    boardRepository.updateSummary(board.getPostId(), summary.excerpt, summary.thumbnailUrl, summary.tagNames);
+                }
+
+                total += postIds.size();
+                lastPostId = postIds.get(postIds.size() - 1);
+                redisTemplate.expire(BACKFILL_LOCK_KEY, BACKFILL_LOCK_TTL); // 진행 중에는 잠금 연장
+            }
+            if (total > 0) {
+                log.info("게시글 목록 요약 백필 완료: {}개 게시글", total);
+            }
+        } catch (Exception e) {
+            log.error("게시글 목록 요약 백필 중 오류 발생", e);
+        } finally {
+            if (lockOwner.equals(redisTemplate.opsForValue().get(BACKFILL_LOCK_KEY))) {
+                redisTemplate.delete(BACKFILL_LOCK_KEY);
+            }
+        }
+    }
+
+    private static class Summary {
+        private final String excerpt;
+        private final String thumbnailUrl;
+        private final String tagNames;
+
+        private Summary(String excerpt, String thumbnailUrl, String tagNames) {
+            this.excerpt = excerpt;
+            this.thumbnailUrl = thumbnailUrl;
+            this.tagNames = tagNames;
+        }
+    }
+}
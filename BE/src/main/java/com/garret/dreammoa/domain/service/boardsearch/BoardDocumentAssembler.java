@@ -0,0 +1,96 @@
+package com.garret.dreammoa.domain.service.boardsearch;
+
+import com.garret.dreammoa.domain.document.BoardDocument;
+import com.garret.dreammoa.domain.document.FloatVector;
+import com.garret.dreammoa.domain.model.BoardEntity;
+import com.garret.dreammoa.domain.repository.UserRepository;
+import com.garret.dreammoa.domain.service.board.BoardSummaryWriter;
+import com.garret.dreammoa.domain.service.embedding.EmbeddingService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.ZoneId;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * 게시글 엔티티 -> Elasticsearch 문서 변환
+ * 아웃박스 처리기(BoardSearchIndexer)와 재색인(ElasticsearchReindexer)이 같은 방식으로 문서를 만들도록 공유한다.
+ * - 작성자 닉네임, 임베딩은 게시글 묶음 단위로 한 번에 조회
+ * - 본문은 평문으로 변환해 임베딩 입력과 content 필드에 사용 (BoardTextExtractor)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BoardDocumentAssembler {
+
+    private final UserRepository userRepository;
+    private final EmbeddingService embeddingService;
+    private final BoardTextExtractor textExtractor;
+
+    //배치 내 게시글 임베딩을 한 번에 계산, 실패 시 사유 반환
+    public String loadEmbeddings(Collection<BoardEntity> boards, Map<Long, FloatVector> embeddings) {
+        if (boards.isEmpty()) {
+            return null;
+        }
+        List<BoardEntity> targets = new ArrayList<>(boards);
+        List<String> texts = targets.stream()
+                .map(board -> textExtractor.embeddingText(board.getTitle(), board.getContent()))
+                .collect(Collectors.toList());
+        try {
+            List<FloatVector> results = embeddingService.getEmbeddings(texts);
+            for (int i = 0; i < targets.size(); i++) {
+                if (results.get(i) != null && results.get(i).dimension() > 0) {
+                    embeddings.put(targets.get(i).getPostId(), results.get(i));
+                }
+            }
+            return null;
+        } catch (Exception e) {
+            log.warn("임베딩 계산 실패 ({}건): {}", targets.size(), e.getMessage());
+            return e.getMessage();
+        }
+    }
+
+    //작성자 닉네임: id IN (...) 쿼리 1번
+    public Map<Long, String> loadNicknames(Collection<BoardEntity> boards) {
+        Set<Long> userIds = boards.stream()
+                .map(board -> board.getUser().getId())
+                .collect(Collectors.toSet());
+        Map<Long, String> nicknames = new HashMap<>();
+        if (userIds.isEmpty()) {
+            return nicknames;
+        }
+        for (Object[] row : userRepository.findNicknamesByIdIn(userIds)) {
+            nicknames.put(((Number) row[0]).longValue(), (String) row[1]);
+        }
+        return nicknames;
+    }
+
+    public BoardDocument toDocument(BoardEntity board, String nickname, FloatVector embedding) {
+        return BoardDocument.builder()
+                .id(board.getPostId())
+                .userId(board.getUser().getId())
+                .userNickname(nickname)
+                .category(board.getCategory().name())
+                .title(board.getTitle())
+                .content(textExtractor.extract(board.getContent())) // HTML 마크업 제거한 평문만 색인
+                .createdAt(board.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli())
+                .updatedAt(board.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli())
+                .viewCount(board.getViewCount().intValue())
+                .embedding(embedding) // 임베딩이 없으면 필드 자체를 비워 둠 (0 벡터는 cosine 유사도 계산 불가)
+                .suggest(toSuggest(board))
+                .build();
+    }
+
+    //자동완성 입력: 제목 + 태그 이름, 조회수가 높을수록 위에 노출
+    private BoardDocument.Completion toSuggest(BoardEntity board) {
+        List<String> inputs = new ArrayList<>();
+        if (board.getTitle() != null && !board.getTitle().isBlank()) {
+            inputs.add(board.getTitle().trim());
+        }
+        inputs.addAll(BoardSummaryWriter.splitTags(board.getTagNames()));
+        int weight = (int) Math.min(board.getViewCount() == null ? 0L : board.getViewCount(), Integer.MAX_VALUE);
+        return new BoardDocument.Completion(inputs, weight);
+    }
+}
@@ -0,0 +1,211 @@
+package com.garret.dreammoa.domain.service.boardsearch;
+
+import com.garret.dreammoa.domain.document.BoardDocument;
+import com.garret.dreammoa.domain.document.FloatVector;
+import com.garret.dreammoa.domain.model.BoardEntity;
+import com.garret.dreammoa.domain.model.BoardSearchOutboxEntity;
+import com.garret.dreammoa.domain.repository.BoardRepository;
+import com.garret.dreammoa.domain.repository.BoardSearchOutboxRepository;
+import com.garret.dreammoa.domain.repository.BoardSearchRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 게시글 검색 색인 아웃박스 처리기
+ * - tb_board_search_outbox를 배치 단위로 읽어 게시글별 마지막 이벤트만 _bulk API 한 번으로 반영
+ * - 실패한 이벤트는 지수 백오프로 재시도 (성공할 때까지 아웃박스에 남음)
+ * - 색인 지연(가장 오래된 미처리 이벤트의 경과 시간)을 board.search.index.lag 게이지로 노출
+ * - 여러 노드가 같은 이벤트를 중복 처리하지 않도록 Redis 잠금을 가진 노드만 처리
+ */
+@Component
+@Slf4j
+public class BoardSearchIndexer {
+
+    // 임베딩 서비스 장애가 이 횟수 이상 계속되면 임베딩 없이라도 색인 (키워드 검색은 가능하도록)
+    private static final int EMBEDDING_FALLBACK_ATTEMPTS = 3;
+    private static final String LOCK_KEY = "search:outbox:lock";
+    // 처리 중 노드가 죽어도 잠금이 영구히 남지 않도록 TTL (배치마다 연장)
+    private static final Duration LOCK_TTL = Duration.ofSeconds(60);
+
+    private final BoardSearchOutboxRepository outboxRepository;
+    private final BoardRepository boardRepository;
+    private final BoardSearchRepository boardSearchRepository;
+    private final BoardDocumentAssembler documentAssembler;
+    private final SearchResultCache searchResultCache;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final String lockOwner = UUID.randomUUID().toString();
+    private final int batchSize;
+    private final long maxBackoffSeconds;
+
+    private final AtomicLong lagSeconds = new AtomicLong();
+    private final Counter indexedCounter;
+    private final Counter failedCounter;
+
+    public BoardSearchIndexer(BoardSearchOutboxRepository outboxRepository,
+                              BoardRepository boardRepository,
+                              BoardSearchRepository boardSearchRepository,
+                              BoardDocumentAssembler documentAssembler,
+                              SearchResultCache searchResultCache,
+                              RedisTemplate<String, String> redisTemplate,
+                              MeterRegistry meterRegistry,
+                              @Value("${board.search.indexer.batch-size:100}") int batchSize,
+                              @Value("${board.search.indexer.max-backoff-seconds:600}") long maxBackoffSeconds) {
+        this.outboxRepository = outboxRepository;
+        this.boardRepository = boardRepository;
+        this.boardSearchRepository = boardSearchRepository;
+        this.documentAssembler = documentAssembler;
+        this.searchResultCache = searchResultCache;
+        this.redisTemplate = redisTemplate;
+        this.batchSize = batchSize;
+        this.maxBackoffSeconds = maxBackoffSeconds;
+
+        Gauge.builder("board.search.index.lag", lagSeconds, AtomicLong::get)
+                .description("가장 오래된 미처리 검색 색인 이벤트의 경과 시간")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.indexedCounter = Counter.builder("board.search.index.events")
+                .tag("result", "success")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("board.search.index.events")
+                .tag("result", "failure")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${board.search.indexer.interval-ms:1000}")
+    public void drain() {
+        try {
+            updateLag();
+            if (!Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, lockOwner, LOCK_TTL))) {
+                return; // 다른 노드가 처리 중
+            }
+        } catch (Exception e) {
+            log.error("검색 색인 아웃박스 잠금 획득 실패", e);
+            return;
+        }
+        try {
+            List<BoardSearchOutboxEntity> events;
+            do {
+                events = outboxRepository.findReady(LocalDateTime.now(), PageRequest.of(0, batchSize));
+                if (!events.isEmpty()) {
+                    processBatch(events);
+                    redisTemplate.expire(LOCK_KEY, LOCK_TTL);
+                }
+            } while (events.size() == batchSize);
+        } catch (Exception e) {
+            log.error("검색 색인 아웃박스 처리 중 오류 발생", e);
+        } finally {
+            releaseLock();
+        }
+    }
+
+    private void releaseLock() {
+        try {
+            if (lockOwner.equals(redisTemplate.opsForValue().get(LOCK_KEY))) {
+                redisTemplate.delete(LOCK_KEY);
+            }
+        } catch (Exception e) {
+            log.warn("검색 색인 아웃박스 잠금 해제 실패 (TTL 만료 후 해제됨)", e);
+        }
+    }
+
+    private void processBatch(List<BoardSearchOutboxEntity> events) {
+        // 같은 게시글의 이벤트가 여러 개면 마지막 이벤트만 반영
+        Map<Long, BoardSearchOutboxEntity> latestByPostId = new LinkedHashMap<>();
+        for (BoardSearchOutboxEntity event : events) {
+            latestByPostId.put(event.getPostId(), event);
+        }
+
+        List<Long> upsertIds = latestByPostId.values().stream()
+                .filter(event -> event.getOperation() == BoardSearchOutboxEntity.Operation.UPSERT)
+                .map(BoardSearchOutboxEntity::getPostId)
+                .collect(Collectors.toList());
+        Map<Long, BoardEntity> boardsById = boardRepository.findAllById(upsertIds).stream()
+                .collect(Collectors.toMap(BoardEntity::getPostId, board -> board));
+        Map<Long, String> nicknames = documentAssembler.loadNicknames(boardsById.values());
+
+        Map<Long, FloatVector> embeddings = new HashMap<>();
+        String embeddingError = documentAssembler.loadEmbeddings(boardsById.values(), embeddings);
+
+        List<BoardDocument> documents = new ArrayList<>();
+        List<Long> deleteIds = new ArrayList<>();
+        Map<Long, String> failures = new HashMap<>();
+        for (BoardSearchOutboxEntity event : latestByPostId.values()) {
+            Long postId = event.getPostId();
+            BoardEntity board = boardsById.get(postId);
+            if (event.getOperation() == BoardSearchOutboxEntity.Operation.DELETE || board == null) {
+                // 이미 삭제된 게시글의 UPSERT도 삭제로 처리
+                deleteIds.add(postId);
+                continue;
+            }
+            FloatVector embedding = embeddings.get(postId);
+            if (embedding == null && event.getAttempts() + 1 < EMBEDDING_FALLBACK_ATTEMPTS) {
+                failures.put(postId, "embedding: " + embeddingError);
+                continue;
+            }
+            documents.add(documentAssembler.toDocument(board, nicknames.get(board.getUser().getId()), embedding));
+        }
+
+        try {
+            failures.putAll(boardSearchRepository.bulk(documents, deleteIds));
+        } catch (Exception e) {
+            log.error("Elasticsearch 벌크 요청 실패 ({}건)", documents.size() + deleteIds.size(), e);
+            for (BoardDocument document : documents) {
+                failures.put(document.getId(), e.getMessage());
+            }
+            for (Long id : deleteIds) {
+                failures.put(id, e.getMessage());
+            }
+        }
+
+        List<Long> doneIds = new ArrayList<>();
+        List<BoardSearchOutboxEntity> retries = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (BoardSearchOutboxEntity event : events) {
+            BoardSearchOutboxEntity latest = latestByPostId.get(event.getPostId());
+            String failure = failures.get(event.getPostId());
+            if (failure == null || event != latest) {
+                // 성공했거나 같은 게시글의 이후 이벤트로 대체된 이벤트
+                doneIds.add(event.getId());
+                continue;
+            }
+            int attempts = event.getAttempts() + 1;
+            event.setAttempts(attempts);
+            event.setNextAttemptAt(now.plusSeconds(Math.min(1L << Math.min(attempts, 20), maxBackoffSeconds)));
+            event.setLastError(failure.length() > 500 ? failure.substring(0, 500) : failure);
+            retries.add(event);
+        }
+
+        if (!doneIds.isEmpty()) {
+            outboxRepository.deleteAllByIdInBatch(doneIds);
+        }
+        if (!retries.isEmpty()) {
+            outboxRepository.saveAll(retries);
+            log.warn("검색 색인 실패 {}건, 재시도 예약: {}", retries.size(),
+                    retries.stream().map(BoardSearchOutboxEntity::getPostId).collect(Collectors.toList()));
+        }
+        if (latestByPostId.size() > retries.size()) {
+            // 인덱스가 바뀌었으므로 검색 결과 캐시 무효화
+            searchResultCache.bumpGeneration();
+        }
+        indexedCounter.increment(latestByPostId.size() - retries.size());
+        failedCounter.increment(retries.size());
+    }
+
+    private void updateLag() {
+        LocalDateTime oldest = outboxRepository.findOldestCreatedAt();
+        lagSeconds.set(oldest == null ? 0L : Math.max(0L, Duration.between(oldest, LocalDateTime.now()).getSeconds()));
+    }
+}
@@ -1,6 +1,7 @@
 package com.garret.dreammoa.domain.service.boardsearch;
 
 import com.garret.dreammoa.domain.document.BoardDocument;
+import com.garret.dreammoa.domain.dto.board.responsedto.CursorPageResponseDto;
 import com.garret.dreammoa.domain.dto.board.responsedto.PageResponseDto;
 
 import java.util.List;
@@ -14,5 +15,23 @@ public interface BoardSearchService {
 
     PageResponseDto<BoardDocument> searchBoards(String keyword, int page, int size);
 
+    /**
+     * 키워드 검색 커서 페이징 (point-in-time + search_after)
+     * @param cursor 이전 응답의 nextCursor (첫 페이지는 null)
+     */
+    CursorPageResponseDto<BoardDocument> searchBoardsByCursor(String keyword, String cursor, int size);
+
     PageResponseDto<BoardDocument> searchSemanticBoards(String keyword, int page, int size, boolean topOnly);
+
+    /**
+     * 키워드 + 벡터 검색 결과를 RRF로 결합한 하이브리드 검색
+     */
+    PageResponseDto<BoardDocument> searchHybridBoards(String keyword, int page, int size);
+
+    /**
+     * 게시글 제목/태그 자동완성
+     * @param prefix 입력 중인 검색어
+     * @return 추천 검색어 목록 (조회수 가중치 순)
+     */
+    List<String> suggest(String prefix, int size);
 }
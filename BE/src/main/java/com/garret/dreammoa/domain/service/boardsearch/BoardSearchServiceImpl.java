@@ -1,28 +1,31 @@
 package com.garret.dreammoa.domain.service.boardsearch;
 
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import co.elastic.clients.elasticsearch._types.FieldValue;
 import co.elastic.clients.elasticsearch._types.SortOrder;
 import co.elastic.clients.elasticsearch._types.query_dsl.FunctionBoostMode;
 import co.elastic.clients.elasticsearch._types.query_dsl.FunctionBoostMode;
 import co.elastic.clients.elasticsearch._types.query_dsl.FunctionScoreMode;
 import co.elastic.clients.elasticsearch._types.query_dsl.Query;
-import co.elastic.clients.elasticsearch.core.ClearScrollResponse;
-import co.elastic.clients.elasticsearch.core.ScrollResponse;
+import co.elastic.clients.elasticsearch.core.MsearchResponse;
 import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.msearch.MultiSearchResponseItem;
+import co.elastic.clients.elasticsearch.core.search.CompletionSuggestOption;
 import co.elastic.clients.elasticsearch.core.search.Hit;
+import co.elastic.clients.elasticsearch.core.search.Suggestion;
 import co.elastic.clients.elasticsearch._types.query_dsl.FunctionBoostMode;
 import co.elastic.clients.json.JsonData;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.garret.dreammoa.domain.document.BoardDocument;
+import com.garret.dreammoa.domain.document.FloatVector;
+import com.garret.dreammoa.domain.dto.board.responsedto.CursorPageResponseDto;
 import com.garret.dreammoa.domain.dto.board.responsedto.PageResponseDto;
+import com.garret.dreammoa.domain.repository.BoardSearchRepository;
 import com.garret.dreammoa.domain.service.embedding.EmbeddingService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.elasticsearch.client.Request;
-import org.elasticsearch.client.Response;
-import org.elasticsearch.client.RestClient;
 import org.springframework.data.elasticsearch.core.query.HasChildQuery;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
@@ -30,6 +33,8 @@ import java.io.InputStream;
 import java.time.Duration;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import java.util.stream.DoubleStream;
 
 @Service
@@ -37,8 +42,32 @@ import java.util.stream.DoubleStream;
 @Slf4j
 public class BoardSearchServiceImpl implements BoardSearchService {
 
+    // 텍스트 매칭 / knn 유사도 점수 가중치
+    private static final float TEXT_BOOST = 3.0f;
+    private static final float KNN_BOOST = 3.0f;
+    private static final int MIN_NUM_CANDIDATES = 50;
+    // RRF 순위 상수 k (ES rrf rank_constant 기본값과 동일)
+    private static final int RRF_RANK_CONSTANT = 60;
+    private static final int MAX_RESULT_WINDOW = 10_000;
+    // 커서 검색/전체 조회용 point-in-time 유지 시간 (요청마다 연장)
+    private static final String PIT_KEEP_ALIVE = "1m";
+    private static final String SUGGESTER_NAME = "board-suggest";
+    private static final int MAX_SUGGEST_SIZE = 20;
+
     private final ElasticsearchClient elasticsearchClient;
     private final EmbeddingService embeddingService;  // 생성자 주입 (@RequiredArgsConstructor 사용)
+    private final SearchResultCache searchResultCache;
+
+    // knn 후보 수 = k * factor (최대 max-num-candidates, ES 제한 10000)
+    @Value("${board.search.semantic.num-candidates-factor:10}")
+    private int numCandidatesFactor;
+
+    @Value("${board.search.semantic.max-num-candidates:1000}")
+    private int maxNumCandidates;
+
+    // 하이브리드 검색에서 RRF로 결합할 상위 문서 수
+    @Value("${board.search.hybrid.window:100}")
+    private int hybridWindow;
 
     /**
      * 키워드가 포함된 게시글 검색(Elasticsearch match query 사용)
@@ -47,6 +76,14 @@ public class BoardSearchServiceImpl implements BoardSearchService {
      */
     @Override
     public PageResponseDto<BoardDocument> searchBoards(String keyword, int page, int size){
+        // from + size는 ES max_result_window(기본 10000)를 넘을 수 없음 -> 깊은 페이지는 커서 검색 사용
+        if ((long) (page + 1) * size > MAX_RESULT_WINDOW) {
+            throw new IllegalArgumentException("검색 결과는 " + MAX_RESULT_WINDOW + "건까지 페이지로 조회할 수 있습니다. 커서 검색을 사용해 주세요.");
+        }
+        return searchResultCache.get("keyword", keyword, page, size, () -> searchBoardsFromIndex(keyword, page, size));
+    }
+
+    private PageResponseDto<BoardDocument> searchBoardsFromIndex(String keyword, int page, int size) {
         try {
             // ✅ 검색 쿼리 생성 (multi_match 쿼리)
             Query query = Query.of(q -> q
@@ -58,16 +95,19 @@ public class BoardSearchServiceImpl implements BoardSearchService {
 
             // ✅ Elasticsearch 검색 실행 (from: page * size, size: 요청한 개수)
             var searchResponse = elasticsearchClient.search(s -> s
-                            .index("board")
+                            .index(BoardSearchRepository.READ_ALIAS)
                             .query(query)
                             .from(page * size) // 🔹 시작 위치
-                            .size(size), // 🔹 페이지 크기
+                            .size(size) // 🔹 페이지 크기
+                            // 목록 필드만 조회하고 본문은 하이라이트 조각으로 대체
+                            .source(src -> src.filter(f -> f.includes(BoardSearchRepository.LIST_SOURCE_FIELDS)))
+                            .highlight(BoardSearchRepository.KEYWORD_HIGHLIGHT),
                     BoardDocument.class
             );
 
             // ✅ 검색 결과 변환
             List<BoardDocument> content = searchResponse.hits().hits().stream()
-                    .map(hit -> hit.source()) // BoardDocument 객체로 변환
+                    .map(BoardSearchRepository::withHighlight) // BoardDocument 객체로 변환
                     .collect(Collectors.toList());
 
             // ✅ 전체 게시글 개수 가져오기
@@ -84,107 +124,204 @@ public class BoardSearchServiceImpl implements BoardSearchService {
     }
 
     /**
-     * Scroll API를 사용하여 주어진 쿼리에 매칭되는 모든 BoardDocument를 가져옵니다.
+     * 키워드 검색 커서 페이징 (point-in-time + search_after)
+     * - 첫 요청에서 PIT를 열고, 이후 요청은 커서의 PIT와 마지막 sort 값 다음부터 조회 (깊은 페이지도 첫 페이지와 같은 비용)
+     * - 마지막 페이지에서 PIT를 닫고, 중간에 멈춘 PIT는 keep-alive 만료로 정리
+     * @param cursor 이전 응답의 nextCursor (첫 페이지는 null)
+     */
+    @Override
+    public CursorPageResponseDto<BoardDocument> searchBoardsByCursor(String keyword, String cursor, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size는 1 이상이어야 합니다.");
+        }
+        SearchCursor searchCursor = cursor == null || cursor.isBlank() ? null : SearchCursor.decode(cursor);
+        try {
+            String pitId = searchCursor != null ? searchCursor.getPitId() : openPointInTime();
+            Query query = keywordQuery(keyword);
+
+            // size + 1개를 조회해 다음 페이지 존재 여부 판단, 동점은 PIT 기본 tiebreaker(_shard_doc)로 정렬
+            SearchResponse<BoardDocument> response = elasticsearchClient.search(s -> {
+                        s.pit(p -> p.id(pitId).keepAlive(t -> t.time(PIT_KEEP_ALIVE)))
+                                .query(query)
+                                .sort(so -> so.score(sc -> sc.order(SortOrder.Desc)))
+                                .size(size + 1)
+                                .source(src -> src.filter(f -> f.includes(BoardSearchRepository.LIST_SOURCE_FIELDS)))
+                                .highlight(BoardSearchRepository.KEYWORD_HIGHLIGHT);
+                        if (searchCursor != null) {
+                            s.searchAfter(searchCursor.getSearchAfter());
+                        }
+                        return s;
+                    },
+                    BoardDocument.class
+            );
+
+            List<Hit<BoardDocument>> hits = response.hits().hits();
+            boolean hasNext = hits.size() > size;
+            List<Hit<BoardDocument>> pageHits = hasNext ? hits.subList(0, size) : hits;
+            List<BoardDocument> content = pageHits.stream()
+                    .map(BoardSearchRepository::withHighlight)
+                    .collect(Collectors.toList());
+
+            // PIT ID는 응답마다 갱신될 수 있으므로 최신 값을 커서에 담음
+            String nextPitId = response.pitId() != null ? response.pitId() : pitId;
+            String nextCursor = null;
+            if (hasNext) {
+                nextCursor = new SearchCursor(nextPitId, pageHits.get(pageHits.size() - 1).sort()).encode();
+            } else {
+                closePointInTime(nextPitId);
+            }
+
+            return CursorPageResponseDto.<BoardDocument>builder()
+                    .content(content)
+                    .nextCursor(nextCursor)
+                    .hasNext(hasNext)
+                    .totalElements(response.hits().total() != null ? response.hits().total().value() : content.size())
+                    .build();
+        } catch (ElasticsearchException e) {
+            if (searchCursor != null && e.status() == 404) {
+                throw new IllegalArgumentException("검색 커서가 만료되었습니다. 처음부터 다시 검색해 주세요.");
+            }
+            throw new RuntimeException("Elasticsearch 검색 중 오류 발생", e);
+        } catch (IOException e) {
+            throw new RuntimeException("Elasticsearch 검색 중 오류 발생", e);
+        }
+    }
+
+    /**
+     * 주어진 쿼리에 매칭되는 모든 BoardDocument를 지연 스트림으로 반환합니다. (PIT + search_after)
+     * - 소비하는 만큼만 batchSize 단위로 가져오므로 메모리는 배치 하나 크기로 제한
+     * - 끝까지 읽거나 스트림을 닫으면 PIT를 해제 (try-with-resources 사용)
      * @param query 검색 쿼리
      * @param batchSize 한 번에 가져올 문서 수
-     * @return 모든 검색 결과 BoardDocument 리스트
      */
-    public List<BoardDocument> scrollSearch(Query query, int batchSize) {
-        List<BoardDocument> allResults = new ArrayList<>();
+    public Stream<BoardDocument> scrollSearch(Query query, int batchSize) {
+        PitIterator iterator = new PitIterator(query, batchSize);
+        return StreamSupport.stream(
+                        Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(iterator::close);
+    }
+
+    private Query keywordQuery(String keyword) {
+        return Query.of(q -> q
+                .multiMatch(mm -> mm
+                        .query(keyword)
+                        .fields("title", "title.ngram", "content", "content.ngram")
+                )
+        );
+    }
+
+    private String openPointInTime() throws IOException {
+        return elasticsearchClient.openPointInTime(o -> o
+                .index(BoardSearchRepository.READ_ALIAS)
+                .keepAlive(t -> t.time(PIT_KEEP_ALIVE))
+        ).id();
+    }
+
+    private void closePointInTime(String pitId) {
         try {
-            // 초기 검색 요청 (Scroll 컨텍스트 생성)
-            SearchResponse<BoardDocument> searchResponse = elasticsearchClient.search(s -> s
-                            .index("board")
-                            .query(query)
-                            // .minScore(Double.valueOf(1.0))  // 최소 스코어 (명시적으로 Double로)
-                            // Scroll 유지 시간: "1m" (문자열로 지정)
-                            .scroll(t -> t.time("1m"))
-                            .size(batchSize)
-                    // _source 필터링: "embedding" 필드를 제외 (응답에 embedding이 보이지 않음)
-//                            .source(src -> src.filter(f -> f.excludes(List.of("embedding"))))
-                    , BoardDocument.class);
-
-            // scrollId를 재할당할 수 있도록 배열에 보관
-            final String[] scrollIdHolder = new String[] { searchResponse.scrollId() };
-            List<Hit<BoardDocument>> hits = searchResponse.hits().hits();
-
-            while (hits != null && !hits.isEmpty()) {
-                for (Hit<BoardDocument> hit : hits) {
-                    allResults.add(hit.source());
-                }
-                // 다음 페이지 요청 (scrollId와 동일한 유지 시간 사용)
-                ScrollResponse<BoardDocument> scrollResponse = elasticsearchClient.scroll(sr -> sr
-                                .scrollId(scrollIdHolder[0])
-                                .scroll(t -> t.time("1m"))
-                        , BoardDocument.class);
-                scrollIdHolder[0] = scrollResponse.scrollId();
-                hits = scrollResponse.hits().hits();
+            elasticsearchClient.closePointInTime(c -> c.id(pitId));
+        } catch (Exception e) {
+            // 닫기 실패해도 keep-alive 만료 후 자동 해제
+            log.warn("PIT 해제 실패: {}", e.getMessage());
+        }
+    }
+
+    //PIT를 열고 필요할 때마다 다음 배치를 가져오는 반복자
+    private class PitIterator implements Iterator<BoardDocument> {
+        private final Query query;
+        private final int batchSize;
+        private String pitId;
+        private List<FieldValue> searchAfter;
+        private Iterator<Hit<BoardDocument>> batch = Collections.emptyIterator();
+        private boolean exhausted;
+
+        private PitIterator(Query query, int batchSize) {
+            this.query = query;
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (batch.hasNext()) {
+                return true;
+            }
+            if (exhausted) {
+                return false;
             }
+            fetchNext();
+            return batch.hasNext();
+        }
 
-            // Scroll 컨텍스트 클리어 (선택 사항)
-            ClearScrollResponse clearScrollResponse = elasticsearchClient.clearScroll(cs -> cs
-                    .scrollId(scrollIdHolder[0])
-            );
-            log.debug("ClearScroll 응답: {}", clearScrollResponse);
+        @Override
+        public BoardDocument next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Hit<BoardDocument> hit = batch.next();
+            searchAfter = hit.sort();
+            return hit.source();
+        }
 
-        } catch (Exception e) {
-            log.error("Scroll 검색 중 오류 발생", e);
-            throw new RuntimeException("Scroll 검색 중 오류 발생", e);
+        private void fetchNext() {
+            try {
+                if (pitId == null) {
+                    pitId = openPointInTime();
+                }
+                // 정렬 없는 전체 조회는 _shard_doc 순서가 가장 효율적, 전체 건수 집계 생략
+                SearchResponse<BoardDocument> response = elasticsearchClient.search(s -> {
+                            s.pit(p -> p.id(pitId).keepAlive(t -> t.time(PIT_KEEP_ALIVE)))
+                                    .query(query)
+                                    .sort(so -> so.field(f -> f.field("_shard_doc").order(SortOrder.Asc)))
+                                    .trackTotalHits(t -> t.enabled(false))
+                                    .size(batchSize)
+                                    .source(src -> src.filter(f -> f.excludes("embedding", "suggest")));
+                            if (searchAfter != null) {
+                                s.searchAfter(searchAfter);
+                            }
+                            return s;
+                        },
+                        BoardDocument.class);
+                if (response.pitId() != null) {
+                    pitId = response.pitId();
+                }
+                List<Hit<BoardDocument>> hits = response.hits().hits();
+                batch = hits.iterator();
+                if (hits.size() < batchSize) {
+                    close();
+                }
+            } catch (Exception e) {
+                close();
+                log.error("PIT 검색 중 오류 발생", e);
+                throw new RuntimeException("PIT 검색 중 오류 발생", e);
+            }
+        }
+
+        private void close() {
+            exhausted = true;
+            if (pitId != null) {
+                closePointInTime(pitId);
+                pitId = null;
+            }
         }
-        return allResults;
     }
 
     @Override
     public PageResponseDto<BoardDocument> searchSemanticBoards(String keyword, int page, int size, boolean topOnly) {
+        // 캐시 적중 시 임베딩 서비스와 ES 모두 호출하지 않음
+        return searchResultCache.get(topOnly ? "semantic-top" : "semantic", keyword, page, size,
+                () -> searchSemanticFromIndex(keyword, page, size, topOnly));
+    }
+
+    private PageResponseDto<BoardDocument> searchSemanticFromIndex(String keyword, int page, int size, boolean topOnly) {
         try {
             log.debug("searchSemanticBoards - received keyword: {}", keyword);
 
-            // 1. 임베딩 서비스로부터 검색어 임베딩 벡터 획득
-            float[] queryEmbedding = embeddingService.getEmbedding(keyword);
-            log.debug("searchSemanticBoards - obtained embedding vector of length: {}", queryEmbedding.length);
-            log.debug("searchSemanticBoards - first 5 elements: {}",
-                    Arrays.toString(Arrays.copyOfRange(queryEmbedding, 0, Math.min(queryEmbedding.length, 5))));
-
-            // 2. float[]를 List<Double>로 변환
-            List<Double> queryVectorList = new ArrayList<>();
-            for (float val : queryEmbedding) {
-                queryVectorList.add((double) val);
-            }
+            // 1. 임베딩 서비스로부터 검색어 임베딩 벡터 획득 (같은 검색어는 캐시 사용)
+            FloatVector queryEmbedding = embeddingService.getQueryEmbedding(keyword);
+            log.debug("searchSemanticBoards - obtained embedding vector of length: {}", queryEmbedding.dimension());
 
-            // 3. "정확한 텍스트 매칭" 쿼리 (제목과 내용 검색, boost 적용)
-            Map<String, Object> titleMatch = new HashMap<>();
-            titleMatch.put("query", keyword);
-            titleMatch.put("boost", 3.0);
-            Map<String, Object> titleClause = Collections.singletonMap("match", Collections.singletonMap("title", titleMatch));
-
-            Map<String, Object> contentMatch = new HashMap<>();
-            contentMatch.put("query", keyword);
-            contentMatch.put("boost", 3.0);
-            Map<String, Object> contentClause = Collections.singletonMap("match", Collections.singletonMap("content", contentMatch));
-
-            Map<String, Object> exactMatchClause = new HashMap<>();
-            exactMatchClause.put("bool", Collections.singletonMap("should", Arrays.asList(titleClause, contentClause)));
-
-            // 4. 임베딩 기반 semantic 쿼리 구성 (script_score 사용)
-            Map<String, Object> script = new HashMap<>();
-            script.put("source", "cosineSimilarity(params.query_vector, 'embedding') + 1.0");
-            script.put("params", Collections.singletonMap("query_vector", queryVectorList));
-
-            Map<String, Object> scriptScoreWrapper = Collections.singletonMap("script", script);
-            Map<String, Object> semanticFunction = Collections.singletonMap("script_score", scriptScoreWrapper);
-
-            Map<String, Object> semanticClause = new HashMap<>();
-            semanticClause.put("function_score", new HashMap<String, Object>() {{
-                put("query", Collections.singletonMap("match_all", new HashMap<>()));
-                put("functions", Collections.singletonList(semanticFunction));
-                put("boost_mode", "multiply");
-                put("score_mode", "sum");
-            }});
-
-            // 5. 위 두 쿼리를 bool 쿼리의 should 절로 결합
-            Map<String, Object> boolQuery = new HashMap<>();
-            boolQuery.put("should", Arrays.asList(exactMatchClause, semanticClause));
-            boolQuery.put("minimum_should_match", 1);
+            // 2. knn 요청에는 복사 없이 List<Float> 뷰로 전달
+            List<Float> queryVector = queryEmbedding.asList();
 
             /*
              * topOnly가 true인 경우,
@@ -204,37 +341,40 @@ public class BoardSearchServiceImpl implements BoardSearchService {
                 querySize = size;
             }
 
-            // 6. 최종 쿼리 구성 (페이지네이션과 정렬 적용)
-            Map<String, Object> finalQuery = new HashMap<>();
-            finalQuery.put("query", Collections.singletonMap("bool", boolQuery));
-            finalQuery.put("from", queryFrom);
-            finalQuery.put("size", querySize);
-            finalQuery.put("sort", Collections.singletonList(
-                    Collections.singletonMap("_score", Collections.singletonMap("order", "desc"))
-            ));
-            // _source 필터: embedding 필드 제외
-            finalQuery.put("_source", Collections.singletonMap("excludes", Collections.singletonList("embedding")));
-
-            ObjectMapper mapper = new ObjectMapper();
-            String rawQuery = mapper.writeValueAsString(finalQuery);
-            log.debug("Raw semantic query: {}", rawQuery);
-
-            // 7. low-level REST 클라이언트를 사용하여 쿼리 실행
-            RestClient lowLevelClient = ((co.elastic.clients.transport.rest_client.RestClientTransport)
-                    elasticsearchClient._transport()).restClient();
-            Request request = new Request("GET", "/board/_search?pretty");
-            request.setJsonEntity(rawQuery);
-            Response response = lowLevelClient.performRequest(request);
-            JsonNode rootNode = mapper.readTree(response.getEntity().getContent());
-            JsonNode hitsNode = rootNode.path("hits").path("hits");
+            // 3. 임베딩 기반 semantic 검색: HNSW 인덱스 근사 knn (전체 문서 스캔 없음)
+            //    요청한 페이지 끝까지 k개를 찾고, 후보 수는 k에 비례해 조정 (정확도/지연 균형)
+            int k = Math.min(queryFrom + querySize, maxNumCandidates);
+            int numCandidates = Math.min(Math.max(k * numCandidatesFactor, MIN_NUM_CANDIDATES), maxNumCandidates);
+
+            // 4. knn 우선: 결과 후보는 knn 쿼리(must)로 찾은 벡터 근접 문서로 한정하고,
+            //    제목/내용 텍스트 일치(should)는 후보 안에서 순위만 올린다. (텍스트만 일치하는 문서는 결과에 추가되지 않음)
+            Query semanticQuery = Query.of(q -> q
+                    .bool(b -> b
+                            .must(mu -> mu.knn(kn -> kn
+                                    .field("embedding")
+                                    .queryVector(queryVector)
+                                    .k(k)
+                                    .numCandidates(numCandidates)
+                                    .boost(KNN_BOOST)))
+                            .should(sh -> sh.match(m -> m.field("title").query(keyword).boost(TEXT_BOOST)))
+                            .should(sh -> sh.match(m -> m.field("content").query(keyword).boost(TEXT_BOOST)))
+                    )
+            );
+
+            // 5. embedding 필드는 응답에서 제외
+            SearchResponse<BoardDocument> searchResponse = elasticsearchClient.search(s -> s
+                            .index(BoardSearchRepository.READ_ALIAS)
+                            .query(semanticQuery)
+                            .from(queryFrom)
+                            .size(querySize)
+                            .source(src -> src.filter(f -> f.excludes("embedding", "suggest"))),
+                    BoardDocument.class
+            );
 
             List<BoardDocument> allResults = new ArrayList<>();
-            for (JsonNode hit : hitsNode) {
-                double score = hit.path("_score").asDouble();
-                JsonNode sourceNode = hit.path("_source");
-                BoardDocument doc = mapper.treeToValue(sourceNode, BoardDocument.class);
-                allResults.add(doc);
-                log.info("게시글 제목: '{}' | 유사도 점수: {}", doc.getTitle(), score);
+            for (Hit<BoardDocument> hit : searchResponse.hits().hits()) {
+                allResults.add(hit.source());
+                log.debug("게시글 제목: '{}' | 유사도 점수: {}", hit.source().getTitle(), hit.score());
             }
 
             long totalElements;
@@ -253,7 +393,7 @@ public class BoardSearchServiceImpl implements BoardSearchService {
                     paginatedResults = allResults.subList(startIndex, endIndex);
                 }
             } else {
-                totalElements = rootNode.path("hits").path("total").path("value").asLong();
+                totalElements = searchResponse.hits().total() != null ? searchResponse.hits().total().value() : allResults.size();
                 totalPages = (int) Math.ceil((double) totalElements / size);
                 paginatedResults = allResults;
             }
@@ -266,7 +406,141 @@ public class BoardSearchServiceImpl implements BoardSearchService {
         }
     }
 
+    /**
+     * 하이브리드 검색: 키워드(multi_match)와 knn 결과를 각각 구한 뒤 RRF(Reciprocal Rank Fusion)로 결합
+     * - 두 검색은 _msearch 한 번으로 실행
+     * - ES retriever rrf는 유료 라이선스 기능이라 애플리케이션에서 결합 (동작은 ES rrf와 같음)
+     *   각 검색의 상위 window개(rank_window_size, 기본 100)에 대해 score = Σ 1 / (k + rank), k = 60, rank는 1부터
+     * - 점수 척도가 다른 BM25/유사도 대신 순위만 사용하므로 가중치 조정이 필요 없음
+     * - 결합된 상위 window개는 검색 결과 캐시에 검색어별로 보관해 다음 페이지는 ES를 다시 조회하지 않음
+     * - 한쪽 검색만 실패하면 다른 쪽 결과로 응답하고, 모두 실패하면 예외 (빈 결과를 캐시하지 않음)
+     */
+    @Override
+    public PageResponseDto<BoardDocument> searchHybridBoards(String keyword, int page, int size) {
+        if (page < 0) {
+            throw new IllegalArgumentException("page는 0 이상이어야 합니다.");
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("size는 1 이상이어야 합니다.");
+        }
+        List<BoardDocument> fused = searchResultCache.get("hybrid", keyword, 0, hybridWindow, () -> fuseHybrid(keyword));
+
+        long totalElements = fused.size();
+        int totalPages = (int) Math.ceil((double) totalElements / size);
+        int startIndex = page * size;
+        List<BoardDocument> content = startIndex >= fused.size()
+                ? Collections.emptyList()
+                : fused.subList(startIndex, Math.min(startIndex + size, fused.size()));
+        return new PageResponseDto<>(new ArrayList<>(content), totalPages, totalElements);
+    }
+
+    private List<BoardDocument> fuseHybrid(String keyword) {
+        try {
+            List<Float> queryVector = embeddingService.getQueryEmbedding(keyword).asList();
+            int numCandidates = Math.min(Math.max(hybridWindow * numCandidatesFactor, MIN_NUM_CANDIDATES), maxNumCandidates);
+
+            MsearchResponse<BoardDocument> response = elasticsearchClient.msearch(m -> m
+                            // 1) 키워드 검색 (searchBoards와 같은 필드)
+                            .searches(se -> se
+                                    .header(h -> h.index(BoardSearchRepository.READ_ALIAS))
+                                    .body(b -> b
+                                            .query(q -> q.multiMatch(mm -> mm
+                                                    .query(keyword)
+                                                    .fields("title", "title.ngram", "content", "content.ngram")))
+                                            .size(hybridWindow)
+                                            .source(src -> src.filter(f -> f.excludes("embedding", "suggest")))))
+                            // 2) 벡터 검색 (HNSW knn)
+                            .searches(se -> se
+                                    .header(h -> h.index(BoardSearchRepository.READ_ALIAS))
+                                    .body(b -> b
+                                            .knn(kn -> kn
+                                                    .field("embedding")
+                                                    .queryVector(queryVector)
+                                                    .k(hybridWindow)
+                                                    .numCandidates(numCandidates))
+                                            .size(hybridWindow)
+                                            .source(src -> src.filter(f -> f.excludes("embedding", "suggest"))))),
+                    BoardDocument.class);
+
+            List<List<BoardDocument>> rankings = new ArrayList<>();
+            for (MultiSearchResponseItem<BoardDocument> item : response.responses()) {
+                if (item.isFailure()) {
+                    // 한쪽 검색이 실패해도 다른 쪽 결과로 응답
+                    log.warn("하이브리드 검색 일부 실패: {}", item.failure().error().reason());
+                    continue;
+                }
+                List<BoardDocument> ranking = new ArrayList<>();
+                for (Hit<BoardDocument> hit : item.result().hits().hits()) {
+                    if (hit.source() != null) {
+                        ranking.add(hit.source());
+                    }
+                }
+                rankings.add(ranking);
+            }
+            if (rankings.isEmpty()) {
+                throw new IllegalStateException("하이브리드 검색의 키워드/벡터 검색이 모두 실패했습니다.");
+            }
+            return fuseRankings(rankings, hybridWindow);
+        } catch (Exception e) {
+            log.error("Elasticsearch 하이브리드 검색 중 오류 발생", e);
+            throw new RuntimeException("Elasticsearch 하이브리드 검색 중 오류 발생", e);
+        }
+    }
+
+    //RRF: 문서마다 각 순위 목록에서의 1 / (k + rank)를 합산해 내림차순 정렬, 상위 window개 반환 (동점은 먼저 나온 순서)
+    static List<BoardDocument> fuseRankings(List<List<BoardDocument>> rankings, int window) {
+        Map<Long, Double> scores = new HashMap<>();
+        Map<Long, BoardDocument> documents = new LinkedHashMap<>();
+        for (List<BoardDocument> ranking : rankings) {
+            for (int rank = 0; rank < ranking.size(); rank++) {
+                BoardDocument doc = ranking.get(rank);
+                scores.merge(doc.getId(), 1.0 / (RRF_RANK_CONSTANT + rank + 1), Double::sum);
+                documents.putIfAbsent(doc.getId(), doc);
+            }
+        }
+
+        List<BoardDocument> fused = new ArrayList<>(documents.values());
+        fused.sort((a, b) -> Double.compare(scores.get(b.getId()), scores.get(a.getId())));
+        return fused.size() > window ? new ArrayList<>(fused.subList(0, window)) : fused;
+    }
 
+    /**
+     * 제목/태그 자동완성 (completion suggester)
+     * 입력 중 매 키 입력마다 호출되므로 본문 검색을 거치지 않고, 결과는 검색 결과 캐시에 보관
+     */
+    @Override
+    public List<String> suggest(String prefix, int size) {
+        String normalized = SearchResultCache.normalize(prefix);
+        if (normalized.isEmpty()) {
+            return Collections.emptyList();
+        }
+        int limit = Math.max(1, Math.min(size, MAX_SUGGEST_SIZE));
+        return searchResultCache.get("suggest", normalized, 0, limit, () -> suggestFromIndex(normalized, limit));
+    }
 
+    private List<String> suggestFromIndex(String prefix, int size) {
+        try {
+            SearchResponse<Void> response = elasticsearchClient.search(s -> s
+                            .index(BoardSearchRepository.READ_ALIAS)
+                            .suggest(sg -> sg.suggesters(SUGGESTER_NAME, fs -> fs
+                                    .prefix(prefix)
+                                    .completion(c -> c
+                                            .field("suggest")
+                                            .size(size)
+                                            .skipDuplicates(true))))
+                            .source(src -> src.fetch(false)),
+                    Void.class
+            );
 
-}
\ No newline at end of file
+            List<String> suggestions = new ArrayList<>();
+            for (Suggestion<Void> suggestion : response.suggest().getOrDefault(SUGGESTER_NAME, Collections.emptyList())) {
+                for (CompletionSuggestOption<Void> option : suggestion.completion().options()) {
+                    suggestions.add(option.text());
+                }
+            }
+            return suggestions;
+        } catch (IOException e) {
+            throw new RuntimeException("Elasticsearch 자동완성 조회 중 오류 발생", e);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.garret.dreammoa.domain.service.boardsearch;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * 게시글 본문(Quill HTML) -> 평문 / 대표 이미지 추출
+ * - 태그, 이미지/S3 URL 등 마크업을 제거한 텍스트만 임베딩 입력과 검색 색인(content), 목록 요약(excerpt)에 사용
+ * - 대표 이미지: Base64 인라인 이미지를 제외한 첫 번째 이미지 URL (목록 썸네일)
+ * - 같은 본문을 반복 파싱하지 않도록 본문 SHA-256 해시 기준으로 결과를 캐시 (재시도, 재색인, 임베딩/색인/요약 모두 사용)
+ */
+@Component
+public class BoardTextExtractor {
+
+    // tb_board.thumbnailUrl 컬럼 길이
+    private static final int MAX_IMAGE_URL_LENGTH = 1000;
+
+    private final Cache<String, ParsedContent> parsedCache;
+
+    public BoardTextExtractor(@Value("${board.search.text-cache.max-size:10000}") long maxSize) {
+        this.parsedCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    public String extract(String html) {
+        return parse(html).text();
+    }
+
+    //첫 번째 이미지 URL (없으면 null)
+    public String firstImageUrl(String html) {
+        return parse(html).firstImageUrl();
+    }
+
+    //임베딩 입력: 제목 + 본문 평문
+    public String embeddingText(String title, String html) {
+        String text = extract(html);
+        if (title == null || title.isBlank()) {
+            return text;
+        }
+        return text.isEmpty() ? title : title + " " + text;
+    }
+
+    private ParsedContent parse(String html) {
+        if (html == null || html.isBlank()) {
+            return ParsedContent.EMPTY;
+        }
+        return parsedCache.get(sha256Hex(html), key -> {
+            Document doc = Jsoup.parseBodyFragment(html);
+            String imageUrl = null;
+            for (Element img : doc.select("img[src]")) {
+                String src = img.attr("src");
+                if (!src.startsWith("data:") && src.length() <= MAX_IMAGE_URL_LENGTH) {
+                    imageUrl = src;
+                    break;
+                }
+            }
+            return new ParsedContent(doc.body().text().trim(), imageUrl);
+        });
+    }
+
+    private record ParsedContent(String text, String firstImageUrl) {
+        private static final ParsedContent EMPTY = new ParsedContent("", null);
+    }
+
+    private static String sha256Hex(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.garret.dreammoa.domain.service.boardsearch;
+
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * 검색 결과 커서 페이징용 커서 (point-in-time ID + 마지막 문서의 sort 값)
+ * 클라이언트에는 "pitId|정렬값1|정렬값2..."를 Base64(URL-safe)로 인코딩한 불투명 문자열로 전달한다.
+ * 정렬값은 타입 접두사(d: double, l: long)를 붙여 저장한다. (_score, _shard_doc)
+ */
+@Getter
+public class SearchCursor {
+
+    private static final String DELIMITER = "|";
+
+    private final String pitId;
+    private final List<FieldValue> searchAfter;
+
+    public SearchCursor(String pitId, List<FieldValue> searchAfter) {
+        this.pitId = pitId;
+        this.searchAfter = searchAfter;
+    }
+
+    public static SearchCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length < 2 || parts[0].isEmpty()) {
+                throw new IllegalArgumentException("유효하지 않은 검색 커서입니다.");
+            }
+            List<FieldValue> values = new ArrayList<>(parts.length - 1);
+            for (int i = 1; i < parts.length; i++) {
+                values.add(decodeValue(parts[i]));
+            }
+            return new SearchCursor(parts[0], values);
+        } catch (IllegalArgumentException | StringIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("유효하지 않은 검색 커서입니다.");
+        }
+    }
+
+    public String encode() {
+        StringBuilder raw = new StringBuilder(pitId);
+        for (FieldValue value : searchAfter) {
+            raw.append(DELIMITER).append(encodeValue(value));
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String encodeValue(FieldValue value) {
+        if (value.isDouble()) {
+            return "d" + value.doubleValue();
+        }
+        if (value.isLong()) {
+            return "l" + value.longValue();
+        }
+        throw new IllegalStateException("지원하지 않는 정렬 값 타입: " + value._kind());
+    }
+
+    private static FieldValue decodeValue(String encoded) {
+        String value = encoded.substring(1);
+        return switch (encoded.charAt(0)) {
+            case 'd' -> FieldValue.of(Double.parseDouble(value));
+            case 'l' -> FieldValue.of(Long.parseLong(value));
+            default -> throw new IllegalArgumentException("유효하지 않은 검색 커서입니다.");
+        };
+    }
+}
@@ -0,0 +1,117 @@
+package com.garret.dreammoa.domain.service.boardsearch;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 게시글 검색 결과 캐시 (노드 내부 Caffeine, 짧은 TTL)
+ * - 키: 세대 + 검색 모드 + 정규화된 검색어 + page + size
+ * - 세대(generation): 검색 인덱스가 바뀔 때마다 Redis "search:generation"을 증가시키고 pub/sub으로 모든 노드에 전파
+ *   세대가 바뀌면 이전 키는 더 이상 조회되지 않고 TTL/크기 제한으로 정리된다.
+ * - 적중/미스 지표는 board.search.cache (cache.gets{result=hit|miss})로 노출
+ */
+@Component
+@Slf4j
+public class SearchResultCache implements MessageListener {
+
+    public static final String GENERATION_CHANNEL = "search:generation";
+    private static final String GENERATION_KEY = "search:generation";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final Cache<String, Object> cache;
+    private final AtomicLong generation = new AtomicLong();
+
+    public SearchResultCache(RedisTemplate<String, String> redisTemplate,
+                             MeterRegistry meterRegistry,
+                             @Value("${board.search.cache.max-size:10000}") long maxSize,
+                             @Value("${board.search.cache.ttl-seconds:30}") long ttlSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "board.search.cache");
+    }
+
+    @PostConstruct
+    public void loadGeneration() {
+        try {
+            String value = redisTemplate.opsForValue().get(GENERATION_KEY);
+            if (value != null) {
+                advanceTo(Long.parseLong(value));
+            }
+        } catch (Exception e) {
+            log.warn("검색 캐시 세대 조회 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 캐시 조회, 없으면 loader 결과를 저장 후 반환 (같은 키의 동시 요청은 한 번만 계산)
+     * 캐시된 값은 여러 요청이 공유하므로 호출자는 수정하지 않아야 한다.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String mode, String query, int page, int size, Supplier<T> loader) {
+        String key = generation.get() + "|" + mode + "|" + normalize(query) + "|" + page + "|" + size;
+        return (T) cache.get(key, k -> loader.get());
+    }
+
+    /**
+     * 검색 인덱스 변경 시 호출: 세대를 올리고 모든 노드에 전파
+     */
+    public void bumpGeneration() {
+        try {
+            Long next = redisTemplate.opsForValue().increment(GENERATION_KEY);
+            if (next != null) {
+                advanceTo(next);
+                redisTemplate.convertAndSend(GENERATION_CHANNEL, String.valueOf(next));
+            }
+        } catch (Exception e) {
+            // Redis 장애 시에도 이 노드의 캐시는 비우고, 다른 노드는 TTL 만료로 정리
+            log.error("검색 캐시 세대 갱신 실패", e);
+            generation.incrementAndGet();
+        }
+    }
+
+    /**
+     * 다른 노드(자기 자신 포함)에서 발행한 세대 변경 메시지 수신
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8).trim();
+        try {
+            advanceTo(Long.parseLong(body));
+        } catch (NumberFormatException e) {
+            log.warn("잘못된 검색 캐시 세대 메시지: {}", body);
+        }
+    }
+
+    //세대는 증가만 (늦게 도착한 메시지로 되돌아가지 않도록)
+    private void advanceTo(long value) {
+        generation.accumulateAndGet(value, Math::max);
+    }
+
+    //유니코드 정규화(NFC) + 공백 정리 + 소문자
+    public static String normalize(String query) {
+        if (query == null) {
+            return "";
+        }
+        return Normalizer.normalize(query, Normalizer.Form.NFC).trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
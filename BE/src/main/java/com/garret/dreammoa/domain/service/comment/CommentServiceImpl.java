@@ -8,7 +8,9 @@ import com.garret.dreammoa.domain.model.UserEntity;
 import com.garret.dreammoa.domain.repository.BoardRepository;
 import com.garret.dreammoa.domain.repository.CommentRepository;
 import com.garret.dreammoa.domain.repository.UserRepository;
+import com.garret.dreammoa.domain.service.board.BoardRankingService;
 import com.garret.dreammoa.domain.service.board.BoardService;
+import com.garret.dreammoa.domain.service.counter.CounterWriteBehind;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.redis.core.RedisTemplate;
@@ -23,7 +25,6 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -35,6 +36,8 @@ public class CommentServiceImpl implements CommentService{
     private final UserRepository userRepository;
 
     private final RedisTemplate<String, String> redisTemplate;
+    private final BoardRankingService boardRankingService;
+    private final CounterWriteBehind counterWriteBehind;
 
     // 댓글 작성
     @Override
@@ -72,8 +75,8 @@ public class CommentServiceImpl implements CommentService{
         CommentEntity savedComment = commentRepository.save(comment);
 
         // Redis 댓글 수 업데이트: 해당 게시글의 댓글 수 증가 (키: "commentCount:{postId}")
-        String key = "commentCount:" + postId;
-        redisTemplate.opsForValue().increment(key);
+        // 댓글수 랭킹 ZSET도 같은 스크립트에서 함께 갱신
+        boardRankingService.incrementCommentCount(postId, 1, board.getCommentCount());
 
         boardRepository.incrementCommentCount(postId);
 
@@ -181,28 +184,15 @@ public class CommentServiceImpl implements CommentService{
         }
 
         // Redis 댓글 수 업데이트: 해당 게시글의 댓글 수 감소 (키: "commentCount:{postId}")
-        String key = "commentCount:" + postId;
-        redisTemplate.opsForValue().decrement(key);
+        boardRankingService.incrementCommentCount(postId, -1, board.getCommentCount());
 
         boardRepository.decrementCommentCount(postId);
     }
 
-    // 1분마다 Redis ↔ DB 동기화
+    // Redis ↔ DB 동기화 (마지막 동기화 이후 댓글 수가 바뀐 게시글만)
     @Scheduled(fixedRate = 300000) // 5분마다 실행
     public void syncCommentCountToDB() {
-        Set<String> keys = redisTemplate.keys("commentCount:*");
-
-        if (keys == null || keys.isEmpty()) return;
-
-        for (String key : keys) {
-            Long postId = Long.parseLong(key.replace("commentCount:", ""));
-            String redisValue = redisTemplate.opsForValue().get(key);
-
-            if (redisValue != null) {
-                int redisCommentCount = Integer.parseInt(redisValue);
-                boardRepository.updateCommentCount(postId, redisCommentCount);
-            }
-        }
+        counterWriteBehind.flush(CounterWriteBehind.Counter.COMMENTS);
     }
 
     // 댓글 개수 조회
@@ -217,7 +207,8 @@ public class CommentServiceImpl implements CommentService{
         if (value == null) {
             // Redis에 없으면 DB에서 조회 후 저장
             int dbCommentCount = commentRepository.countByBoard_PostId(postId);
-            redisTemplate.opsForValue().set(key, String.valueOf(dbCommentCount)); // Redis에 캐싱
+            // 조회와 동시에 들어온 증감을 덮어쓰지 않도록 키가 없을 때만 저장
+            redisTemplate.opsForValue().setIfAbsent(key, String.valueOf(dbCommentCount)); // Redis에 캐싱
             return dbCommentCount;
         }
 
@@ -0,0 +1,149 @@
+package com.garret.dreammoa.domain.service.counter;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Redis 카운터 -> MySQL write-behind 동기화
+ * - 카운터 증감 시 변경된 postId를 dirty SET(counter:dirty:{name})에 함께 기록 (BoardRankingService Lua 스크립트)
+ * - 동기화는 dirty SET을 SPOP으로 비우면서 변경된 게시글만 MGET 한 번으로 읽고 JDBC 배치 UPDATE로 반영
+ *   (순 방문자 HyperLogLog는 PFCOUNT, 좋아요 Set은 SCARD 파이프라인)
+ * - KEYS 전체 스캔 없이 변경된 게시글 수에 비례한 비용으로 동기화
+ */
+@Component
+@Slf4j
+public class CounterWriteBehind {
+
+    public enum Counter {
+        VIEWS("viewCount", "views", "UPDATE tb_board SET view_count = ? WHERE post_id = ?", Source.STRING),
+        UNIQUE_VIEWS("viewers:", "unique-views", "UPDATE tb_board SET unique_view_count = ? WHERE post_id = ?", Source.HYPER_LOG_LOG),
+        LIKES("likes:", "likes", "UPDATE tb_board SET like_count = ? WHERE post_id = ?", Source.SET),
+        COMMENTS("commentCount:", "comments", "UPDATE tb_board SET comment_count = ? WHERE post_id = ?", Source.STRING);
+
+        private final String keyPrefix;
+        private final String dirtyKey;
+        private final String updateSql;
+        private final Source source;
+
+        Counter(String keyPrefix, String name, String updateSql, Source source) {
+            this.keyPrefix = keyPrefix;
+            this.dirtyKey = DIRTY_KEY_PREFIX + name;
+            this.updateSql = updateSql;
+            this.source = source;
+        }
+
+        public String key(Long postId) {
+            return keyPrefix + postId;
+        }
+
+        public String dirtyKey() {
+            return dirtyKey;
+        }
+    }
+
+    //카운터 값 읽는 방법: STRING(MGET), HYPER_LOG_LOG(PFCOUNT), SET(SCARD, 좋아요 Set 크기)
+    private enum Source {
+        STRING, HYPER_LOG_LOG, SET
+    }
+
+    private static final String DIRTY_KEY_PREFIX = "counter:dirty:";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public CounterWriteBehind(RedisTemplate<String, String> redisTemplate,
+                              JdbcTemplate jdbcTemplate,
+                              @Value("${board.counter.flush-batch-size:500}") int batchSize) {
+        this.redisTemplate = redisTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * dirty SET에 쌓인 게시글의 카운터를 DB에 반영하고 반영한 게시글 수를 반환한다.
+     * 꺼낸 뒤 DB 반영에 실패한 postId는 다시 dirty SET에 넣어 다음 주기에 재시도한다.
+     */
+    public int flush(Counter counter) {
+        int flushed = 0;
+        List<String> postIds;
+        while (!(postIds = pop(counter)).isEmpty()) {
+            try {
+                flushed += write(counter, postIds);
+            } catch (Exception e) {
+                redisTemplate.opsForSet().add(counter.dirtyKey(), postIds.toArray(new String[0]));
+                log.error("카운터 DB 동기화 실패 ({}, {}건), 다음 주기에 재시도", counter, postIds.size(), e);
+                break;
+            }
+            if (postIds.size() < batchSize) {
+                break;
+            }
+        }
+        if (flushed > 0) {
+            log.debug("카운터 DB 동기화 완료 ({}): {}건", counter, flushed);
+        }
+        return flushed;
+    }
+
+    //SPOP key count: 변경된 postId를 배치 크기만큼 꺼냄
+    private List<String> pop(Counter counter) {
+        List<String> popped = redisTemplate.opsForSet().pop(counter.dirtyKey(), batchSize);
+        return popped != null ? popped : new ArrayList<>();
+    }
+
+    private int write(Counter counter, List<String> postIds) {
+        List<String> keys = new ArrayList<>(postIds.size());
+        for (String postId : postIds) {
+            keys.add(counter.keyPrefix + postId);
+        }
+        List<?> values = counter.source == Source.STRING ? redisTemplate.opsForValue().multiGet(keys) : countPipelined(counter.source, keys);
+        if (values == null) {
+            return 0;
+        }
+
+        List<Object[]> rows = new ArrayList<>(postIds.size());
+        for (int i = 0; i < postIds.size(); i++) {
+            Object value = values.get(i);
+            if (value == null) {
+                continue; // 카운터 키가 만료/삭제된 경우 DB 값 유지
+            }
+            try {
+                rows.add(new Object[]{Long.parseLong(value.toString()), Long.parseLong(postIds.get(i))});
+            } catch (NumberFormatException e) {
+                log.warn("잘못된 카운터 값 - key: {}, value: {}", keys.get(i), value);
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(counter.updateSql, rows);
+        }
+        return rows.size();
+    }
+
+    //PFCOUNT/SCARD는 키마다 따로 호출해야 하므로 파이프라인 한 번으로 묶음 (PFCOUNT에 여러 키를 주면 합집합 크기가 됨)
+    private List<Object> countPipelined(Source source, List<String> keys) {
+        return redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                for (String key : keys) {
+                    if (source == Source.HYPER_LOG_LOG) {
+                        ops.opsForHyperLogLog().size(key);
+                    } else {
+                        ops.opsForSet().size(key);
+                    }
+                }
+                return null;
+            }
+        });
+    }
+}
@@ -1,43 +1,264 @@
 package com.garret.dreammoa.domain.service.embedding;
 
+import com.garret.dreammoa.domain.document.FloatVector;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
-import reactor.core.publisher.Mono;
 
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Python 임베딩 서비스 클라이언트
+ * - 동시에 들어온 요청을 짧은 시간(max-wait) 또는 개수(batch-size) 단위로 모아 /embed/batch 한 번으로 처리
+ * - 검색어와 문서(색인/재색인)는 대기열과 배치 스레드를 따로 사용 (재색인 배치 뒤에 검색어가 밀리지 않도록)
+ * - 검색어 임베딩은 정규화된 텍스트 기준 LRU 캐시에 보관 (같은 검색어는 모델을 다시 호출하지 않음)
+ * - 모든 호출에 타임아웃 적용
+ */
 @Service
+@Slf4j
 public class EmbeddingService {
 
-    // Python 임베딩 서비스의 URL (예: 로컬 테스트 시 http://localhost:8000)
-    private final WebClient webClient = WebClient.create("http://localhost:8000");
+    // 임베딩 모델(KoSimCSE-roberta) 출력 차원, 검색 인덱스 dense_vector dims와 동일해야 함
+    public static final int DIMENSIONS = 768;
+
+    private final WebClient webClient;
+    private final int maxBatchSize;
+    private final Duration timeout;
+
+    private final Lane documentLane;
+    private final Lane queryLane;
+    private final Cache<String, FloatVector> queryCache;
+    private volatile boolean running = true;
+
+    public EmbeddingService(@Value("${embedding.service.url:http://localhost:8000}") String baseUrl,
+                            @Value("${embedding.batch.size:32}") int maxBatchSize,
+                            @Value("${embedding.batch.max-wait-ms:10}") long maxWaitMillis,
+                            @Value("${embedding.batch.queue-capacity:1000}") int queueCapacity,
+                            @Value("${embedding.query.batch.max-wait-ms:2}") long queryMaxWaitMillis,
+                            @Value("${embedding.query.queue-capacity:200}") int queryQueueCapacity,
+                            @Value("${embedding.timeout-ms:10000}") long timeoutMillis,
+                            @Value("${embedding.query-cache.max-size:10000}") long queryCacheSize) {
+        // Python 임베딩 서비스의 URL (예: 로컬 테스트 시 http://localhost:8000)
+        this.webClient = WebClient.builder()
+                .baseUrl(baseUrl)
+                .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(16 * 1024 * 1024))
+                .build();
+        this.maxBatchSize = maxBatchSize;
+        this.timeout = Duration.ofMillis(timeoutMillis);
+        this.documentLane = new Lane("embedding-batcher", queueCapacity, maxWaitMillis);
+        // 검색어는 사용자가 기다리므로 대기 시간을 짧게
+        this.queryLane = new Lane("embedding-query-batcher", queryQueueCapacity, queryMaxWaitMillis);
+        this.queryCache = Caffeine.newBuilder()
+                .maximumSize(queryCacheSize)
+                .expireAfterAccess(Duration.ofHours(1))
+                .build();
+    }
+
+    @PostConstruct
+    public void start() {
+        documentLane.start();
+        queryLane.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        documentLane.stop();
+        queryLane.stop();
+    }
+
+    /**
+     * 문서(게시글) 임베딩. 동시에 들어온 다른 요청과 함께 배치로 처리된다.
+     */
+    public FloatVector getEmbedding(String text) {
+        return await(documentLane.submit(normalize(text)));
+    }
+
+    /**
+     * 여러 문서를 한 번에 임베딩 (재색인, 색인 배치용). 입력 순서대로 반환한다.
+     */
+    public List<FloatVector> getEmbeddings(List<String> texts) {
+        List<CompletableFuture<FloatVector>> futures = new ArrayList<>(texts.size());
+        for (String text : texts) {
+            futures.add(documentLane.submit(normalize(text)));
+        }
+        List<FloatVector> embeddings = new ArrayList<>(texts.size());
+        for (CompletableFuture<FloatVector> future : futures) {
+            embeddings.add(await(future));
+        }
+        return embeddings;
+    }
+
+    /**
+     * 검색어 임베딩 (LRU 캐시 사용)
+     */
+    public FloatVector getQueryEmbedding(String query) {
+        String normalized = normalize(query);
+        FloatVector cached = queryCache.getIfPresent(normalized);
+        if (cached != null) {
+            return cached;
+        }
+        FloatVector embedding = await(queryLane.submit(normalized));
+        queryCache.put(normalized, embedding);
+        return embedding;
+    }
+
+    //유니코드 정규화(NFC) + 공백 정리
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return Normalizer.normalize(text, Normalizer.Form.NFC).trim().replaceAll("\\s+", " ");
+    }
+
+    private FloatVector await(CompletableFuture<FloatVector> future) {
+        try {
+            // 대기열 대기 + 배치 요청 시간을 고려해 요청 타임아웃의 2배까지 대기
+            return future.get(timeout.toMillis() * 2, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("임베딩 요청이 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("임베딩 계산 실패: " + e.getCause().getMessage(), e.getCause());
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            throw new IllegalStateException("임베딩 계산 시간 초과", e);
+        }
+    }
+
+    //대기열 + 배치 스레드 한 쌍
+    private class Lane {
+        private final String name;
+        // 배치 대기열 (가득 차면 요청 거절)
+        private final BlockingQueue<PendingEmbedding> queue;
+        private final long maxWaitNanos;
+        private Thread dispatcher;
+
+        private Lane(String name, int queueCapacity, long maxWaitMillis) {
+            this.name = name;
+            this.queue = new LinkedBlockingQueue<>(queueCapacity);
+            this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        }
 
-    public float[] getEmbedding(String text) {
-        // 요청 객체 생성
-        EmbedRequest request = new EmbedRequest(text);
+        private void start() {
+            dispatcher = new Thread(this::dispatchLoop, name);
+            dispatcher.setDaemon(true);
+            dispatcher.start();
+        }
+
+        private void stop() {
+            dispatcher.interrupt();
+        }
+
+        private CompletableFuture<FloatVector> submit(String text) {
+            PendingEmbedding pending = new PendingEmbedding(text);
+            if (!queue.offer(pending)) {
+                throw new IllegalStateException("임베딩 요청 대기열이 가득 찼습니다.");
+            }
+            return pending.future;
+        }
+
+        //첫 요청이 들어오면 max-wait 동안(또는 batch-size까지) 추가 요청을 모아 한 번에 전송
+        private void dispatchLoop() {
+            while (running) {
+                try {
+                    List<PendingEmbedding> batch = new ArrayList<>(maxBatchSize);
+                    batch.add(queue.take());
+                    long deadline = System.nanoTime() + maxWaitNanos;
+                    while (batch.size() < maxBatchSize) {
+                        long remaining = deadline - System.nanoTime();
+                        PendingEmbedding next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                        if (next == null) {
+                            break;
+                        }
+                        batch.add(next);
+                    }
+                    dispatch(batch);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (Exception e) {
+                    log.error("임베딩 배치 처리 중 오류 발생 ({})", name, e);
+                }
+            }
+        }
+    }
+
+    private void dispatch(List<PendingEmbedding> batch) {
+        // 이미 타임아웃으로 취소된 요청 제외, 같은 텍스트는 한 번만 전송
+        Map<String, List<PendingEmbedding>> byText = new LinkedHashMap<>();
+        for (PendingEmbedding pending : batch) {
+            if (!pending.future.isDone()) {
+                byText.computeIfAbsent(pending.text, k -> new ArrayList<>()).add(pending);
+            }
+        }
+        if (byText.isEmpty()) {
+            return;
+        }
+
+        List<String> texts = new ArrayList<>(byText.keySet());
+        try {
+            BatchEmbedResponse response = webClient.post()
+                    .uri("/embed/batch")
+                    .bodyValue(new BatchEmbedRequest(texts))
+                    .retrieve()
+                    .bodyToMono(BatchEmbedResponse.class)
+                    .timeout(timeout)
+                    .block();
+            if (response == null || response.getEmbeddings() == null || response.getEmbeddings().size() != texts.size()) {
+                throw new IllegalStateException("임베딩 응답 개수가 요청과 다릅니다.");
+            }
+            for (int i = 0; i < texts.size(); i++) {
+                FloatVector embedding = response.getEmbeddings().get(i);
+                for (PendingEmbedding pending : byText.get(texts.get(i))) {
+                    if (embedding == null || embedding.dimension() != DIMENSIONS) {
+                        // 차원이 다른 벡터는 색인/knn 검색에서 거부되므로 실패로 처리
+                        pending.future.completeExceptionally(new IllegalStateException(
+                                "임베딩 차원 불일치: " + (embedding == null ? 0 : embedding.dimension())));
+                    } else {
+                        pending.future.complete(embedding);
+                    }
+                }
+            }
+        } catch (Exception e) {
+            for (List<PendingEmbedding> pendings : byText.values()) {
+                for (PendingEmbedding pending : pendings) {
+                    pending.future.completeExceptionally(e);
+                }
+            }
+        }
+    }
 
-        // Python 서비스의 /embed 엔드포인트 호출 (블로킹 방식)
-        Mono<EmbedResponse> responseMono = webClient.post()
-                .uri("/embed")
-                .bodyValue(request)
-                .retrieve()
-                .bodyToMono(EmbedResponse.class);
+    private static class PendingEmbedding {
+        private final String text;
+        private final CompletableFuture<FloatVector> future = new CompletableFuture<>();
 
-        EmbedResponse response = responseMono.block();
-        return response.getEmbedding();
+        private PendingEmbedding(String text) {
+            this.text = text;
+        }
     }
 
     // 요청 객체 정의
-    public static class EmbedRequest {
-        private String text;
-        public EmbedRequest() { }
-        public EmbedRequest(String text) { this.text = text; }
-        public String getText() { return text; }
-        public void setText(String text) { this.text = text; }
+    public static class BatchEmbedRequest {
+        private List<String> texts;
+        public BatchEmbedRequest() { }
+        public BatchEmbedRequest(List<String> texts) { this.texts = texts; }
+        public List<String> getTexts() { return texts; }
+        public void setTexts(List<String> texts) { this.texts = texts; }
     }
 
     // 응답 객체 정의
-    public static class EmbedResponse {
-        private float[] embedding;
-        public float[] getEmbedding() { return embedding; }
-        public void setEmbedding(float[] embedding) { this.embedding = embedding; }
+    public static class BatchEmbedResponse {
+        private List<FloatVector> embeddings;
+        public List<FloatVector> getEmbeddings() { return embeddings; }
+        public void setEmbeddings(List<FloatVector> embeddings) { this.embeddings = embeddings; }
     }
 }
@@ -5,18 +5,25 @@ import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.garret.dreammoa.domain.model.FileEntity;
 import com.garret.dreammoa.domain.model.FileEntity.RelatedType;
 import com.garret.dreammoa.domain.repository.FileRepository;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 
 @Service
@@ -25,6 +32,11 @@ public class FileService {
 
     private final FileRepository fileRepository;
     private final AmazonS3Client amazonS3Client;
+    private final RedisTemplate<String, String> redisTemplate;
+
+    //내용 해시 -> S3 키 인덱스 (Redis 키 접두사)
+    private static final String CONTENT_HASH_KEY_PREFIX = "file:hash:";
+    private static final long CONTENT_HASH_TTL_DAYS = 7;
 
     //로컬 파일 저장 경로(게시판 등 다른 파일은 여전히 로컬에 저장)
     @Value("${cloud.aws.s3.bucket}")
@@ -95,8 +107,8 @@ public class FileService {
                     .stream().findFirst();
             if(existingOpt.isPresent()){
                 FileEntity existing = existingOpt.get();
-                //S3에 저장된 기존 파일 삭제
-                amazonS3Client.deleteObject(bucketName, existing.getFilePath());
+                //S3에 저장된 기존 파일 삭제 (커밋 후)
+                deleteObjectIfUnreferenced(existing.getFilePath(), null);
                 //기존 레코드를 업데이트
                 existing.setFileName(originalFileName);
                 existing.setFilePath(fileName);
@@ -131,8 +143,8 @@ public class FileService {
         // 기존 파일이 있으면 삭제
         if (existingFileOpt.isPresent()) {
             FileEntity existingFile = existingFileOpt.get();
-            amazonS3Client.deleteObject(bucketName, existingFile.getFilePath());
             fileRepository.delete(existingFile);
+            deleteObjectIfUnreferenced(existingFile.getFilePath(), existingFile.getContentHash());
         }
         // 즉시 DB에 반영하도록 flush() 호출
         fileRepository.flush();
@@ -146,17 +158,67 @@ public class FileService {
     public void deleteFile(Long fileId) {
         FileEntity fileEntity = fileRepository.findById(fileId)
                 .orElseThrow(() -> new RuntimeException("File not found"));
-        amazonS3Client.deleteObject(bucketName, fileEntity.getFilePath());
         fileRepository.delete(fileEntity);
+        deleteObjectIfUnreferenced(fileEntity.getFilePath(), fileEntity.getContentHash());
     }
 
     @Transactional
     public void deleteThumbnail(Long challengeId){
         List<FileEntity> files = fileRepository.findByRelatedIdAndRelatedType(challengeId, RelatedType.CHALLENGE);
         if(!files.isEmpty()){
-            amazonS3Client.deleteObject(bucketName,  files.get(0).getFilePath());
             fileRepository.delete(files.get(0));
+            deleteObjectIfUnreferenced(files.get(0).getFilePath(), files.get(0).getContentHash());
+        }
+    }
+
+    //게시글 삭제 시 게시글 이미지 레코드 삭제 (호출자의 트랜잭션에 참여), S3 객체는 마지막 참조일 때만 커밋 후 삭제
+    @Transactional
+    public void deletePostImages(Long postId) {
+        List<FileEntity> files = fileRepository.findByRelatedIdAndRelatedType(postId, RelatedType.POST);
+        if (files.isEmpty()) {
+            return;
+        }
+        fileRepository.deleteAll(files);
+        for (FileEntity file : files) {
+            deleteObjectIfUnreferenced(file.getFilePath(), file.getContentHash());
+        }
+    }
+
+    /**
+     * 삭제/교체된 파일 레코드의 S3 객체를 마지막 참조일 때만 삭제
+     * 게시글 이미지는 같은 내용 해시의 객체를 여러 게시글이 공유하므로, 같은 해시의 레코드가 남아 있으면 객체와 해시 인덱스를 유지한다.
+     * 롤백 시 객체가 사라지지 않도록 S3/Redis 삭제는 커밋 후에 수행한다.
+     */
+    private void deleteObjectIfUnreferenced(String filePath, String contentHash) {
+        if (contentHash != null) {
+            fileRepository.flush();
+            if (fileRepository.existsByContentHash(contentHash)) {
+                return;
+            }
+        }
+        runAfterCommit(() -> {
+            // 커밋 사이에 다른 게시글이 같은 이미지를 재사용했으면 유지
+            if (contentHash != null && fileRepository.existsByContentHash(contentHash)) {
+                return;
+            }
+            if (contentHash != null) {
+                redisTemplate.delete(CONTENT_HASH_KEY_PREFIX + contentHash);
+            }
+            amazonS3Client.deleteObject(bucketName, filePath);
+        });
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
         }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 
     public Optional<FileEntity> getProfilePicture(Long userId) {
@@ -164,48 +226,168 @@ public class FileService {
                 .stream().findFirst();
     }
 
-    public String saveBase64FileS3(String base64Data, Long relatedId, RelatedType relatedType) throws IOException {
-        // base64 디코딩
-        byte[] decodedBytes = Base64.getDecoder().decode(base64Data);
+    /**
+     * data URI(data:image/png;base64,....)의 Base64 본문을 스트림으로 디코딩해 S3에 업로드
+     * png/jpeg/gif/webp만 허용한다.
+     * 디코딩 결과 전체를 byte[]로 만들지 않으므로 이미지 크기만큼의 추가 힙을 사용하지 않는다.
+     * DB는 사용하지 않으며 (업로드 스레드는 트랜잭션 밖, 커넥션 미사용), file 레코드는 호출자가 saveUploadedImages로 저장한다.
+     */
+    public UploadedImage uploadBase64ImageS3(String dataUri) {
+        int comma = dataUri.indexOf(',');
+        if (!dataUri.startsWith("data:image/") || comma < 0) {
+            throw new IllegalArgumentException("Base64 이미지 형식이 아닙니다.");
+        }
+
+        // "data:image/jpeg;base64" -> "image/jpeg"
+        String header = dataUri.substring("data:".length(), comma);
+        int semicolon = header.indexOf(';');
+        String contentType = (semicolon >= 0 ? header.substring(0, semicolon) : header).toLowerCase(Locale.ROOT);
+        // 래스터 이미지만 허용 (SVG 등 스크립트를 담을 수 있는 형식은 거부)
+        String extension = switch (contentType) {
+            case "image/png" -> ".png";
+            case "image/jpeg" -> ".jpg";
+            case "image/gif" -> ".gif";
+            case "image/webp" -> ".webp";
+            default -> throw new IllegalArgumentException("지원하지 않는 이미지 형식입니다: " + contentType);
+        };
+
+        // 내용 해시가 같은 이미지가 이미 있으면 S3 PUT 생략 (참조 레코드는 saveUploadedImages에서 게시글마다 기록)
+        String contentHash = sha256Hex(dataUri, comma + 1);
+        String existingKey = findS3KeyByContentHash(contentHash);
+        if (existingKey != null) {
+            String existingName = existingKey.substring(existingKey.lastIndexOf('/') + 1);
+            String existingUrl = amazonS3Client.getUrl(bucketName, existingKey).toString();
+            return new UploadedImage(existingName, existingKey, existingUrl, contentType, contentHash, true);
+        }
 
-        // 파일명 생성 (S3 내에 저장될 키)
-        //    예: folder + UUID + 확장자
-        String folder = "post/"; // relatedType이 PROFILE이면 "profile/", etc.
-        String uniqueName = generateUniqueFilename() + ".png"; // png라 가정
-        String s3Key = folder + uniqueName;
+        // S3 키도 내용 해시로 생성 (동시에 같은 이미지를 올려도 같은 객체를 덮어쓸 뿐)
+        String uniqueName = contentHash + extension;
+        String s3Key = "post/" + uniqueName;
 
-        // S3 업로드
         ObjectMetadata metadata = new ObjectMetadata();
-        metadata.setContentLength(decodedBytes.length);
-        metadata.setContentType("image/png");
+        metadata.setContentLength(decodedLength(dataUri, comma + 1));
+        metadata.setContentType(contentType);
 
-        ByteArrayInputStream inputStream = new ByteArrayInputStream(decodedBytes);
+        // MIME 디코더는 Base64 알파벳 이외의 문자(줄바꿈 등)를 무시한다
+        InputStream inputStream = Base64.getMimeDecoder().wrap(new AsciiInputStream(dataUri, comma + 1));
         amazonS3Client.putObject(bucketName, s3Key, inputStream, metadata);
 
-        // 업로드된 S3 URL 얻기
-        String s3Url = amazonS3Client.getUrl(bucketName, s3Key).toString();
+        String fileUrl = amazonS3Client.getUrl(bucketName, s3Key).toString();
+        // S3 객체가 생긴 시점에 바로 인덱스 등록 (게시글 트랜잭션이 롤백되어도 객체는 재사용 가능)
+        redisTemplate.opsForValue().set(CONTENT_HASH_KEY_PREFIX + contentHash, s3Key, CONTENT_HASH_TTL_DAYS, TimeUnit.DAYS);
+        return new UploadedImage(uniqueName, s3Key, fileUrl, contentType, contentHash, false);
+    }
 
-        // file 테이블에 Insert
-        FileEntity fileEntity = FileEntity.builder()
-                .relatedId(relatedId)
-                .relatedType(relatedType)
-                .fileName(uniqueName)   // 실제 S3 키
-                .filePath(s3Key)        // "post/고유아이디/abc123.png" 등
-                .fileUrl(s3Url)         // S3 접근 URL
-                .fileType("image/png")
-                .build();
+    //내용 해시 -> S3 키 조회 (Redis만 조회)
+    //인덱스가 만료/유실되어도 S3 키가 내용 해시로 정해지므로 같은 객체를 한 번 더 PUT할 뿐 중복 객체는 생기지 않는다
+    private String findS3KeyByContentHash(String contentHash) {
+        return redisTemplate.opsForValue().get(CONTENT_HASH_KEY_PREFIX + contentHash);
+    }
+
+    //Base64 본문을 스트림으로 디코딩하면서 SHA-256 계산
+    private static String sha256Hex(String source, int start) {
+        try (InputStream in = Base64.getMimeDecoder().wrap(new AsciiInputStream(source, start))) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    //업로드된 이미지들의 file 테이블 Insert (호출자의 트랜잭션에 참여)
+    //기존 객체를 재사용한 이미지도 게시글마다 참조 레코드를 남긴다. (마지막 참조가 삭제될 때만 S3 객체 삭제)
+    //같은 게시글 안의 중복 이미지와 이미 이 게시글에 기록된 이미지는 Insert 하지 않는다.
+    @Transactional
+    public void saveUploadedImages(List<UploadedImage> images, Long relatedId, RelatedType relatedType) {
+        Map<String, UploadedImage> newImages = new LinkedHashMap<>();
+        for (UploadedImage image : images) {
+            newImages.putIfAbsent(image.getContentHash(), image);
+        }
+        if (newImages.isEmpty()) {
+            return;
+        }
+        for (FileEntity existing : fileRepository.findByRelatedIdAndRelatedType(relatedId, relatedType)) {
+            if (existing.getContentHash() != null) {
+                newImages.remove(existing.getContentHash());
+            }
+        }
+
+        List<FileEntity> entities = new ArrayList<>(newImages.size());
+        for (UploadedImage image : newImages.values()) {
+            entities.add(FileEntity.builder()
+                    .relatedId(relatedId)
+                    .relatedType(relatedType)
+                    .fileName(image.getFileName())
+                    .filePath(image.getS3Key())
+                    .fileUrl(image.getFileUrl())
+                    .fileType(image.getContentType())
+                    .contentHash(image.getContentHash())
+                    .build());
+        }
+        fileRepository.saveAll(entities);
+    }
+
+    //Base64 문자열을 디코딩했을 때의 바이트 수 (S3 Content-Length용, 패딩/공백 문자 제외)
+    private static long decodedLength(String source, int start) {
+        long validChars = 0;
+        for (int i = start; i < source.length(); i++) {
+            char c = source.charAt(i);
+            if ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '+' || c == '/') {
+                validChars++;
+            }
+        }
+        return validChars * 3 / 4;
+    }
+
+    //문자열의 일부를 복사 없이 ASCII 바이트 스트림으로 읽기
+    private static class AsciiInputStream extends InputStream {
+        private final String source;
+        private int position;
+
+        private AsciiInputStream(String source, int start) {
+            this.source = source;
+            this.position = start;
+        }
 
-        fileRepository.save(fileEntity);
+        @Override
+        public int read() {
+            return position < source.length() ? source.charAt(position++) & 0xFF : -1;
+        }
 
-        // S3 URL 반환
-        return s3Url;
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (position >= source.length()) {
+                return -1;
+            }
+            int count = Math.min(length, source.length() - position);
+            for (int i = 0; i < count; i++) {
+                buffer[offset + i] = (byte) source.charAt(position++);
+            }
+            return count;
+        }
     }
 
-    private String generateUniqueFilename() {
-        String uuid = UUID.randomUUID().toString().substring(0, 8);
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
-        return uuid + "_" + timestamp;
+    @Getter
+    @AllArgsConstructor
+    public static class UploadedImage {
+        private final String fileName;
+        private final String s3Key;
+        private final String fileUrl;
+        private final String contentType;
+        private final String contentHash;
+        private final boolean reused; // 이미 업로드된 같은 내용의 객체를 재사용했는지 여부
     }
+
     public List<FileEntity> getByRelatedIdAndRelatedType(Long userId, RelatedType relatedType) {
         return fileRepository.findByRelatedIdAndRelatedType(userId, relatedType);
     }
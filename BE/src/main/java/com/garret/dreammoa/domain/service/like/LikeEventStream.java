@@ -0,0 +1,266 @@
+package com.garret.dreammoa.domain.service.like;
+
+import com.garret.dreammoa.domain.service.counter.CounterWriteBehind;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.connection.RedisCallback;
+import org.springframework.data.redis.connection.stream.*;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * 좋아요 이벤트 스트림 -> tb_post_like 동기화
+ * - 좋아요/취소가 실제로 반영될 때 Lua 스크립트 안에서 likes:events 스트림에 {op, postId, userId} 이벤트를 XADD
+ * - 컨슈머 그룹(like-sync)으로 이벤트를 배치 단위로 읽고, 이벤트의 op 대신 현재 Redis 상태(likes:{postId} SISMEMBER)에 맞춰
+ *   INSERT IGNORE / DELETE 배치로 반영한 뒤 XACK
+ *   (노드마다 다른 순서로 처리되거나 재처리돼도 최종 결과는 Redis 상태와 같음)
+ * - 반영 도중 장애가 나면 ACK하지 않은 이벤트는 pending 목록에 남고, 일정 시간 이상 처리되지 않은 이벤트는
+ *   다른 컨슈머가 XCLAIM으로 가져와 다시 처리 (컨슈머가 사라져도 pending 이벤트가 방치되지 않음)
+ */
+@Component
+@Slf4j
+public class LikeEventStream {
+
+    public static final String STREAM_KEY = "likes:events";
+    // 컨슈머가 오래 멈춰도 메모리가 무한히 늘지 않도록 XADD 시 근사 길이 제한
+    public static final long MAX_LENGTH = 1_000_000L;
+    private static final String GROUP = "like-sync";
+
+    private static final String INSERT_SQL = "INSERT IGNORE INTO tb_post_like (post_id, user_id) VALUES (?, ?)";
+    private static final String DELETE_SQL = "DELETE FROM tb_post_like WHERE post_id = ? AND user_id = ?";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final Duration reclaimIdle;
+    private final Duration consumerExpiry;
+    private final String consumerName;
+
+    public LikeEventStream(RedisTemplate<String, String> redisTemplate,
+                           JdbcTemplate jdbcTemplate,
+                           @Value("${board.like.sync-batch-size:500}") int batchSize,
+                           @Value("${board.like.reclaim-idle-ms:60000}") long reclaimIdleMs,
+                           @Value("${board.like.consumer-expiry-ms:3600000}") long consumerExpiryMs,
+                           @Value("${board.like.consumer-name:}") String consumerName) {
+        this.redisTemplate = redisTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.reclaimIdle = Duration.ofMillis(reclaimIdleMs);
+        this.consumerExpiry = Duration.ofMillis(consumerExpiryMs);
+        // 컨테이너 재시작/스케일 아웃 시 이름이 겹치지 않도록 인스턴스마다 고유한 이름 사용
+        // (이전 인스턴스의 pending 이벤트는 이름이 아니라 reclaimIdle 기준 XCLAIM으로 회수)
+        this.consumerName = consumerName.isBlank()
+                ? hostName() + "-" + UUID.randomUUID().toString().substring(0, 8)
+                : consumerName;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        createGroup();
+        removeExpiredConsumers();
+    }
+
+    //XGROUP CREATE likes:events like-sync 0 MKSTREAM: 스트림이 아직 없어도 그룹 생성
+    void createGroup() {
+        try {
+            redisTemplate.execute((RedisCallback<String>) connection -> connection.streamCommands().xGroupCreate(
+                    STREAM_KEY.getBytes(StandardCharsets.UTF_8), GROUP, ReadOffset.from("0"), true));
+            log.info("좋아요 이벤트 컨슈머 그룹 생성: {}", GROUP);
+        } catch (DataAccessException e) {
+            if (!hasError(e, "BUSYGROUP")) {
+                throw e;
+            }
+            log.debug("좋아요 이벤트 컨슈머 그룹이 이미 존재합니다: {}", GROUP);
+        }
+    }
+
+    //재시작으로 남은 이전 인스턴스 컨슈머 중 pending이 없고 오래 쉰 컨슈머 정리 (XINFO CONSUMERS 목록이 계속 늘지 않도록)
+    private void removeExpiredConsumers() {
+        try {
+            for (StreamInfo.XInfoConsumer consumer : redisTemplate.opsForStream().consumers(STREAM_KEY, GROUP)) {
+                if (consumer.pendingCount() == 0 && consumer.idleTimeMs() >= consumerExpiry.toMillis()
+                        && !consumer.consumerName().equals(consumerName)) {
+                    redisTemplate.opsForStream().deleteConsumer(STREAM_KEY, Consumer.from(GROUP, consumer.consumerName()));
+                }
+            }
+        } catch (Exception e) {
+            log.warn("좋아요 이벤트 컨슈머 정리 실패", e);
+        }
+    }
+
+    /**
+     * 다른 컨슈머가 처리하지 못한 pending 이벤트, 이 컨슈머의 pending 이벤트, 새 이벤트 순으로 반영하고 처리한 이벤트 수를 반환한다.
+     */
+    public int consume() {
+        int applied = 0;
+        try {
+            applied += reclaim();
+            // ReadOffset "0": 이전에 읽고 ACK하지 못한 이벤트 (반영 실패 후 재시도)
+            applied += drain(ReadOffset.from("0"));
+            // ReadOffset ">": 아직 아무 컨슈머도 읽지 않은 새 이벤트
+            applied += drain(ReadOffset.lastConsumed());
+        } catch (RedisSystemException e) {
+            if (!hasError(e, "NOGROUP")) {
+                throw e;
+            }
+            // Redis 초기화 등으로 스트림/그룹이 사라진 경우 다시 만들고 다음 주기에 처리
+            createGroup();
+        }
+        return applied;
+    }
+
+    //XPENDING으로 reclaimIdle 이상 ACK되지 않은 다른 컨슈머의 이벤트를 찾아 XCLAIM으로 가져와 반영
+    private int reclaim() {
+        int applied = 0;
+        Range<String> range = Range.unbounded();
+        while (true) {
+            PendingMessages pending = redisTemplate.opsForStream().pending(STREAM_KEY, GROUP, range, batchSize);
+            if (pending.isEmpty()) {
+                return applied;
+            }
+            List<RecordId> idle = new ArrayList<>();
+            String lastId = null;
+            for (PendingMessage message : pending) {
+                lastId = message.getIdAsString();
+                if (!consumerName.equals(message.getConsumerName())
+                        && message.getElapsedTimeSinceLastDelivery().compareTo(reclaimIdle) >= 0) {
+                    idle.add(message.getId());
+                }
+            }
+            if (!idle.isEmpty()) {
+                // 같은 이벤트를 동시에 가져가려는 다른 노드가 있으면 XCLAIM의 min-idle 조건 때문에 한쪽만 가져감
+                List<MapRecord<String, Object, Object>> claimed = redisTemplate.opsForStream().claim(
+                        STREAM_KEY, GROUP, consumerName, reclaimIdle, idle.toArray(new RecordId[0]));
+                if (claimed != null && !claimed.isEmpty()) {
+                    log.info("처리되지 않은 좋아요 이벤트 {}건 회수", claimed.size());
+                    applied += applyAndAcknowledge(claimed);
+                }
+            }
+            if (pending.size() < batchSize) {
+                return applied;
+            }
+            range = Range.rightUnbounded(Range.Bound.inclusive(nextId(lastId)));
+        }
+    }
+
+    private int drain(ReadOffset offset) {
+        int applied = 0;
+        while (true) {
+            List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream().read(
+                    Consumer.from(GROUP, consumerName),
+                    StreamReadOptions.empty().count(batchSize),
+                    StreamOffset.create(STREAM_KEY, offset));
+            if (records == null || records.isEmpty()) {
+                return applied;
+            }
+            applied += applyAndAcknowledge(records);
+            if (records.size() < batchSize) {
+                return applied;
+            }
+        }
+    }
+
+    private int applyAndAcknowledge(List<MapRecord<String, Object, Object>> records) {
+        apply(records);
+        redisTemplate.opsForStream().acknowledge(STREAM_KEY, GROUP,
+                records.stream().map(Record::getId).toArray(RecordId[]::new));
+        return records.size();
+    }
+
+    /**
+     * 이벤트가 가리키는 (postId, userId)의 현재 Redis 좋아요 여부를 읽어 tb_post_like를 같은 상태로 맞춘다.
+     * 이벤트의 op를 그대로 적용하지 않으므로 노드 간 처리 순서가 뒤바뀌거나 같은 이벤트가 다시 처리돼도 결과가 같다.
+     */
+    void apply(List<MapRecord<String, Object, Object>> records) {
+        Set<PostLike> targets = new LinkedHashSet<>();
+        for (MapRecord<String, Object, Object> record : records) {
+            Map<Object, Object> event = record.getValue();
+            // 길이 제한으로 잘려 나간 pending 이벤트는 값이 비어 있음
+            if (event == null || event.get("postId") == null || event.get("userId") == null) {
+                log.warn("잘못된 좋아요 이벤트 무시 - id: {}, value: {}", record.getId(), event);
+                continue;
+            }
+            try {
+                targets.add(new PostLike(Long.parseLong(event.get("postId").toString()),
+                        Long.parseLong(event.get("userId").toString())));
+            } catch (NumberFormatException e) {
+                log.warn("잘못된 좋아요 이벤트 무시 - id: {}, value: {}", record.getId(), event);
+            }
+        }
+        if (targets.isEmpty()) {
+            return;
+        }
+
+        List<PostLike> likes = new ArrayList<>(targets);
+        List<Object> members = isMemberPipelined(likes);
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+        for (int i = 0; i < likes.size(); i++) {
+            PostLike like = likes.get(i);
+            Object[] row = {like.postId(), like.userId()};
+            (Boolean.TRUE.equals(members.get(i)) ? inserts : deletes).add(row);
+        }
+        // 삭제된 게시글/사용자에 대한 INSERT는 IGNORE로 경고만 남고 건너뜀
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+        }
+        if (!deletes.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE_SQL, deletes);
+        }
+        log.debug("좋아요 이벤트 반영 - 이벤트 {}건, 추가 {}건, 삭제 {}건", records.size(), inserts.size(), deletes.size());
+    }
+
+    private List<Object> isMemberPipelined(List<PostLike> likes) {
+        return redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                for (PostLike like : likes) {
+                    ops.opsForSet().isMember(CounterWriteBehind.Counter.LIKES.key(like.postId()), like.userId().toString());
+                }
+                return null;
+            }
+        });
+    }
+
+    //XPENDING 다음 페이지 시작 ID: "ms-seq" -> "ms-(seq+1)"
+    static String nextId(String id) {
+        int dash = id.indexOf('-');
+        return id.substring(0, dash + 1) + (Long.parseLong(id.substring(dash + 1)) + 1);
+    }
+
+    private static boolean hasError(Throwable e, String code) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause.getMessage() != null && cause.getMessage().contains(code)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "like-sync-consumer";
+        }
+    }
+
+    private record PostLike(Long postId, Long userId) {
+    }
+}
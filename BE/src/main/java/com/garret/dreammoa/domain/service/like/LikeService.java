@@ -1,12 +1,17 @@
 package com.garret.dreammoa.domain.service.like;
 
+import com.garret.dreammoa.domain.dto.like.responsedto.LikeResponseDto;
+
 public interface LikeService {
 
-    //좋아요 추가
-    void addLike(Long postId, Long userId);
+    //좋아요 추가, 처리 후 좋아요 수 반환
+    int addLike(Long postId, Long userId);
+
+    //좋아요 취소, 처리 후 좋아요 수 반환
+    int removeLike(Long postId, Long userId);
 
-    //좋아요 취소
-    void removeLike(Long postId, Long userId);
+    //좋아요 토글, 처리 후 좋아요 상태와 좋아요 수 반환
+    LikeResponseDto toggleLike(Long postId, Long userId);
 
     //특정 게시글의 좋아요 개수 조회
     int getLikeCount(Long postId);
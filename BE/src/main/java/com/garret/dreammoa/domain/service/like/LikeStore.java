@@ -0,0 +1,106 @@
+package com.garret.dreammoa.domain.service.like;
+
+import com.garret.dreammoa.domain.service.board.BoardRankingService;
+import com.garret.dreammoa.domain.service.counter.CounterWriteBehind;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 좋아요 상태 저장소 (Redis Set likes:{postId})
+ * - 좋아요/취소/토글을 Lua 스크립트 하나로 처리: 게시글 삭제 여부 확인 + Set 변경 + 랭킹 ZINCRBY + 이벤트 XADD + dirty 기록
+ * - 삭제 여부는 노드 로컬 캐시가 아니라 Redis의 삭제 표시 키(board:deleted:{postId}, TTL)로 스크립트 안에서 확인하므로
+ *   다른 노드에서 삭제된 게시글에도 좋아요가 추가되지 않는다.
+ */
+@Component
+public class LikeStore {
+
+    // KEYS[1]=likes:{postId}, KEYS[2]=좋아요 이벤트 스트림, KEYS[3]=좋아요수 dirty SET, KEYS[4]=board:deleted:{postId}, KEYS[5..]=랭킹 ZSET
+    // ARGV[1]=postId, ARGV[2]=userId, ARGV[3]=스트림 최대 길이, ARGV[4]=LIKE|UNLIKE|TOGGLE
+    // 반환: {변경 여부(1/0, 삭제된 게시글이면 -1), 처리 후 좋아요 상태(1/0), 처리 후 좋아요 수(SCARD)}
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> LIKE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[4]) == 1 then return {-1, 0, 0} end " +
+            "local member = redis.call('SISMEMBER', KEYS[1], ARGV[2]) " +
+            "local liked = member " +
+            "if ARGV[4] == 'LIKE' then liked = 1 elseif ARGV[4] == 'UNLIKE' then liked = 0 else liked = 1 - member end " +
+            "local changed = 0 " +
+            "if liked ~= member then " +
+            "  local delta, op = 1, 'LIKE' " +
+            "  if liked == 1 then redis.call('SADD', KEYS[1], ARGV[2]) else redis.call('SREM', KEYS[1], ARGV[2]); delta, op = -1, 'UNLIKE' end " +
+            "  for i = 5, #KEYS do redis.call('ZINCRBY', KEYS[i], delta, ARGV[1]) end " +
+            "  redis.call('XADD', KEYS[2], 'MAXLEN', '~', ARGV[3], '*', 'op', op, 'postId', ARGV[1], 'userId', ARGV[2]) " +
+            "  redis.call('SADD', KEYS[3], ARGV[1]) " +
+            "  changed = 1 " +
+            "end " +
+            "return {changed, liked, redis.call('SCARD', KEYS[1])}", List.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final BoardRankingService boardRankingService;
+
+    public LikeStore(RedisTemplate<String, String> redisTemplate, BoardRankingService boardRankingService) {
+        this.redisTemplate = redisTemplate;
+        this.boardRankingService = boardRankingService;
+    }
+
+    //좋아요 추가 (이미 좋아요한 경우 changed=false)
+    public LikeResult add(Long postId, Long userId) {
+        return execute(LikeMode.LIKE, postId, userId);
+    }
+
+    //좋아요 취소 (좋아요하지 않은 경우 changed=false)
+    public LikeResult remove(Long postId, Long userId) {
+        return execute(LikeMode.UNLIKE, postId, userId);
+    }
+
+    //좋아요 토글 (좋아요 상태면 취소, 아니면 추가)
+    public LikeResult toggle(Long postId, Long userId) {
+        return execute(LikeMode.TOGGLE, postId, userId);
+    }
+
+    private LikeResult execute(LikeMode mode, Long postId, Long userId) {
+        // 한 번도 존재하지 않은 게시글은 카테고리를 찾을 수 없어 랭킹 키가 비어 있음
+        List<String> rankingKeys = boardRankingService.rankingKeys(BoardRankingService.Metric.LIKES, postId);
+        if (rankingKeys.isEmpty()) {
+            throw postNotFound(postId);
+        }
+        List<String> keys = new ArrayList<>();
+        keys.add(CounterWriteBehind.Counter.LIKES.key(postId));
+        keys.add(LikeEventStream.STREAM_KEY);
+        keys.add(CounterWriteBehind.Counter.LIKES.dirtyKey());
+        keys.add(BoardRankingService.deletedKey(postId));
+        keys.addAll(rankingKeys);
+        List<?> result = redisTemplate.execute(LIKE_SCRIPT, keys, String.valueOf(postId), String.valueOf(userId),
+                String.valueOf(LikeEventStream.MAX_LENGTH), mode.name());
+        if (result == null || result.size() < 3) {
+            throw new IllegalStateException("좋아요 스크립트 결과가 올바르지 않습니다. postId=" + postId);
+        }
+        long changed = ((Number) result.get(0)).longValue();
+        if (changed < 0) {
+            throw postNotFound(postId);
+        }
+        return new LikeResult(changed == 1L, ((Number) result.get(1)).longValue() == 1L, ((Number) result.get(2)).intValue());
+    }
+
+    private static IllegalArgumentException postNotFound(Long postId) {
+        return new IllegalArgumentException("❌ 게시글이 존재하지 않습니다. postId=" + postId);
+    }
+
+    private enum LikeMode {
+        LIKE, UNLIKE, TOGGLE
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class LikeResult {
+        private final boolean changed;
+        private final boolean liked;
+        private final int likeCount;
+    }
+}
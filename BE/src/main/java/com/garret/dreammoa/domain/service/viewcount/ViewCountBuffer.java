@@ -0,0 +1,157 @@
+package com.garret.dreammoa.domain.service.viewcount;
+
+import com.garret.dreammoa.domain.service.board.BoardRankingService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 노드 내부 조회수 버퍼
+ * - 조회 1건마다 Redis에 쓰지 않고 postId별 LongAdder에 누적, 방문자 식별자는 큐에 모아 둠
+ * - 짧은 주기(기본 300ms)와 종료 시점에 모아 둔 조회를 스크립트 한 번으로 Redis에 반영 (BoardRankingService.recordViews)
+ * - 조회수 조회 시 아직 반영되지 않은 증가분(pending)을 더해 실시간에 가깝게 보여준다.
+ */
+@Component
+@Slf4j
+public class ViewCountBuffer {
+
+    private static final int FLUSH_CHUNK_SIZE = 200;
+
+    private final BoardRankingService boardRankingService;
+    private final int maxPendingViewers;
+
+    private final ConcurrentHashMap<Long, LongAdder> pendingCounts = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<PendingViewer> pendingViewers = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingViewerCount = new AtomicInteger();
+
+    public ViewCountBuffer(BoardRankingService boardRankingService,
+                           @Value("${board.view-count.max-pending-viewers:100000}") int maxPendingViewers) {
+        this.boardRankingService = boardRankingService;
+        this.maxPendingViewers = maxPendingViewers;
+    }
+
+    public void add(Long postId, String viewerId) {
+        // 증가와 flush의 차감/정리가 같은 엔트리 잠금 안에서 일어나도록 compute 사용 (정리된 LongAdder에 증가해 유실되지 않도록)
+        pendingCounts.compute(postId, (id, adder) -> {
+            LongAdder target = adder != null ? adder : new LongAdder();
+            target.increment();
+            return target;
+        });
+        if (viewerId != null) {
+            enqueueViewer(new PendingViewer(postId, viewerId));
+        }
+    }
+
+    //Redis 장애가 길어져도 메모리가 무한히 늘지 않도록 상한을 넘으면 방문자 기록만 버림 (순 방문자 추정치만 영향)
+    private void enqueueViewer(PendingViewer viewer) {
+        if (pendingViewerCount.incrementAndGet() > maxPendingViewers) {
+            pendingViewerCount.decrementAndGet();
+            return;
+        }
+        pendingViewers.add(viewer);
+    }
+
+    //아직 Redis에 반영되지 않은 조회수
+    public long pending(Long postId) {
+        LongAdder adder = pendingCounts.get(postId);
+        return adder != null ? adder.sum() : 0L;
+    }
+
+    @Scheduled(fixedDelayString = "${board.view-count.flush-interval-ms:300}")
+    public void scheduledFlush() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("조회수 버퍼 Redis 반영 실패, 다음 주기에 재시도", e);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("종료 시 조회수 버퍼 Redis 반영 실패 - 미반영 게시글 {}건", pendingCounts.size(), e);
+        }
+    }
+
+    /**
+     * 누적된 조회수/방문자를 Redis에 반영한다.
+     * 증가분은 sum()으로 읽고 반영에 성공한 만큼만 add(-n)으로 빼므로, 반영 중 들어온 조회는 다음 주기로 넘어간다.
+     * 차감 후 0이 된 게시글은 같은 computeIfPresent 안에서 제거하므로 그 사이에 들어온 조회가 유실되지 않는다.
+     * 반영에 실패하면 증가분은 그대로 남고 꺼낸 방문자는 큐에 다시 넣는다.
+     */
+    public synchronized void flush() {
+        Map<Long, Long> counts = new HashMap<>();
+        for (Map.Entry<Long, LongAdder> entry : pendingCounts.entrySet()) {
+            long count = entry.getValue().sum();
+            if (count > 0) {
+                counts.put(entry.getKey(), count);
+            }
+        }
+
+        List<PendingViewer> drained = new ArrayList<>();
+        Map<Long, Set<String>> viewers = new HashMap<>();
+        PendingViewer viewer;
+        while ((viewer = pendingViewers.poll()) != null) {
+            pendingViewerCount.decrementAndGet();
+            drained.add(viewer);
+            viewers.computeIfAbsent(viewer.postId, id -> new HashSet<>()).add(viewer.viewerId); // 같은 방문자의 새로고침은 한 번만
+        }
+        if (counts.isEmpty() && viewers.isEmpty()) {
+            return;
+        }
+
+        Set<Long> postIds = new HashSet<>(counts.keySet());
+        postIds.addAll(viewers.keySet());
+        Set<Long> written = new HashSet<>();
+        List<BoardRankingService.ViewBatch> chunk = new ArrayList<>(FLUSH_CHUNK_SIZE);
+        try {
+            for (Long postId : postIds) {
+                chunk.add(new BoardRankingService.ViewBatch(postId, counts.getOrDefault(postId, 0L),
+                        viewers.getOrDefault(postId, Collections.emptySet())));
+                if (chunk.size() == FLUSH_CHUNK_SIZE) {
+                    writeChunk(chunk, counts, written);
+                    chunk.clear();
+                }
+            }
+            writeChunk(chunk, counts, written);
+        } catch (RuntimeException e) {
+            // 반영되지 않은 게시글의 방문자는 큐에 되돌림 (조회수는 add(-n)을 하지 않았으므로 그대로 남아 있음)
+            for (PendingViewer pending : drained) {
+                if (!written.contains(pending.postId)) {
+                    enqueueViewer(pending);
+                }
+            }
+            throw e;
+        }
+    }
+
+    private void writeChunk(List<BoardRankingService.ViewBatch> chunk, Map<Long, Long> counts, Set<Long> written) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        boardRankingService.recordViews(chunk);
+        for (BoardRankingService.ViewBatch batch : chunk) {
+            Long count = counts.get(batch.getPostId());
+            if (count != null) {
+                pendingCounts.computeIfPresent(batch.getPostId(), (id, adder) -> {
+                    adder.add(-count);
+                    return adder.sum() > 0 ? adder : null; // 반영 중 새 조회가 없었으면 정리
+                });
+            }
+            written.add(batch.getPostId());
+        }
+    }
+
+    private record PendingViewer(Long postId, String viewerId) {
+    }
+}
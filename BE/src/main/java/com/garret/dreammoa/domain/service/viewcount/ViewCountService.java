@@ -4,13 +4,16 @@ import java.util.List;
 
 public interface ViewCountService {
 
-    //게시글 조회 시 조회수 증가
-    void increaseViewCount(Long postId);
+    //게시글 조회 시 조회수 증가 + 순 방문자 기록 (viewerId: ViewerIdResolver)
+    void increaseViewCount(Long postId, String viewerId);
 
     //특정 게시글의 조회수 반환
     int getViewCount(Long postId);
 
-    //Redis에 저장된 조회수를 일정 주기마다 mysql에 동기화
+    //특정 게시글의 순 방문자 수 반환 (HyperLogLog 추정치, 오차 약 0.81%)
+    int getUniqueViewCount(Long postId);
+
+    //Redis에 저장된 조회수/순 방문자 수를 일정 주기마다 mysql에 동기화
     void syncViewCountToDB();
 
 }
@@ -0,0 +1,53 @@
+package com.garret.dreammoa.domain.service.viewcount;
+
+import com.garret.dreammoa.domain.dto.user.CustomUserDetails;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * 순 방문자(HyperLogLog) 집계용 방문자 식별자
+ * - 로그인 사용자: userId
+ * - 비로그인: 클라이언트 IP + User-Agent 해시 (원문은 Redis에 저장하지 않음)
+ *   IP는 X-Forwarded-For의 마지막 값(프록시가 추가한 값)을 사용
+ */
+@Component
+public class ViewerIdResolver {
+
+    public String resolve(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof CustomUserDetails userDetails) {
+            return "u:" + userDetails.getId();
+        }
+        return "c:" + fingerprint(clientIp(request), request.getHeader("User-Agent"));
+    }
+
+    //프록시(Nginx) 뒤에서는 X-Forwarded-For 마지막 값이 Nginx가 직접 본 클라이언트 주소
+    //앞쪽 값은 클라이언트가 임의로 보낼 수 있으므로 사용하지 않음 (순 방문자 부풀리기 방지)
+    static String clientIp(HttpServletRequest request) {
+        String forwarded = request.getHeader("X-Forwarded-For");
+        if (forwarded != null && !forwarded.isBlank()) {
+            String last = forwarded.substring(forwarded.lastIndexOf(',') + 1).trim();
+            if (!last.isEmpty()) {
+                return last;
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private static String fingerprint(String ip, String userAgent) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest((ip + "|" + (userAgent != null ? userAgent : "")).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.garret.dreammoa.domain.service.board;
+
+import com.garret.dreammoa.domain.repository.projection.BoardSummary;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BoardCursorTest {
+
+    @Test
+    void 최신순_커서는_작성일과_postId를_그대로_복원한다() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 31, 12, 30, 15, 123_000_000);
+        BoardSummary last = mock(BoardSummary.class);
+        when(last.getCreatedAt()).thenReturn(createdAt);
+        when(last.getPostId()).thenReturn(42L);
+
+        String encoded = BoardCursor.of(BoardSortType.NEWEST, last).encode();
+        BoardCursor decoded = BoardCursor.decode(encoded, BoardSortType.NEWEST);
+
+        assertThat(decoded.getSortType()).isEqualTo(BoardSortType.NEWEST);
+        assertThat(decoded.getCreatedAt()).isEqualTo(createdAt);
+        assertThat(decoded.getPostId()).isEqualTo(42L);
+    }
+
+    @Test
+    void 조회수순_커서는_숫자_정렬값을_복원한다() {
+        BoardSummary last = mock(BoardSummary.class);
+        when(last.getViewCount()).thenReturn(1_234L);
+        when(last.getPostId()).thenReturn(7L);
+
+        BoardCursor decoded = BoardCursor.decode(BoardCursor.of(BoardSortType.VIEWS, last).encode(), BoardSortType.VIEWS);
+
+        assertThat(decoded.getLongValue()).isEqualTo(1_234L);
+        assertThat(decoded.getPostId()).isEqualTo(7L);
+    }
+
+    @Test
+    void 정렬_기준이_다른_커서는_거부한다() {
+        BoardSummary last = mock(BoardSummary.class);
+        when(last.getLikeCount()).thenReturn(3);
+        when(last.getPostId()).thenReturn(1L);
+        String encoded = BoardCursor.of(BoardSortType.LIKES, last).encode();
+
+        assertThatThrownBy(() -> BoardCursor.decode(encoded, BoardSortType.COMMENTS))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void 형식이_잘못된_커서는_IllegalArgumentException으로_처리한다() {
+        assertThatThrownBy(() -> BoardCursor.decode("not-base64!!", BoardSortType.NEWEST))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BoardCursor.decode("VklFV1N8YWJjfDE", BoardSortType.VIEWS)) // "VIEWS|abc|1"
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,41 @@
+package com.garret.dreammoa.domain.service.board;
+
+import com.garret.dreammoa.domain.dto.board.responsedto.BoardResponseDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BoardDetailCacheTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void 반환된_DTO의_태그를_수정해도_캐시된_값은_바뀌지_않는다() {
+        RedisTemplate<String, BoardResponseDto> dtoTemplate = mock(RedisTemplate.class);
+        ValueOperations<String, BoardResponseDto> valueOps = mock(ValueOperations.class);
+        when(dtoTemplate.opsForValue()).thenReturn(valueOps);
+        when(valueOps.get(anyString())).thenReturn(null);
+        BoardDetailCache cache = new BoardDetailCache(dtoTemplate, mock(RedisTemplate.class), 100, 30);
+
+        BoardResponseDto loaded = BoardResponseDto.builder()
+                .postId(1L)
+                .tags(new ArrayList<>(List.of("java")))
+                .build();
+        BoardResponseDto first = cache.get(1L, () -> loaded);
+        first.getTags().add("spring");
+        first.setViewCount(100);
+
+        BoardResponseDto second = cache.get(1L, () -> {
+            throw new AssertionError("L1 캐시에서 조회되어야 함");
+        });
+        assertThat(second.getTags()).containsExactly("java");
+        assertThat(second.getViewCount()).isZero();
+    }
+}
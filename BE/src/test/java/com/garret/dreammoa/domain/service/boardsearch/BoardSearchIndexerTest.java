@@ -0,0 +1,82 @@
+package com.garret.dreammoa.domain.service.boardsearch;
+
+import com.garret.dreammoa.domain.model.BoardSearchOutboxEntity;
+import com.garret.dreammoa.domain.repository.BoardRepository;
+import com.garret.dreammoa.domain.repository.BoardSearchOutboxRepository;
+import com.garret.dreammoa.domain.repository.BoardSearchRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class BoardSearchIndexerTest {
+
+    private BoardSearchOutboxRepository outboxRepository;
+    private BoardSearchRepository boardSearchRepository;
+    private RedisTemplate<String, String> redisTemplate;
+    private ValueOperations<String, String> valueOps;
+    private BoardSearchIndexer indexer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        outboxRepository = mock(BoardSearchOutboxRepository.class);
+        boardSearchRepository = mock(BoardSearchRepository.class);
+        BoardRepository boardRepository = mock(BoardRepository.class);
+        BoardDocumentAssembler documentAssembler = mock(BoardDocumentAssembler.class);
+        redisTemplate = mock(RedisTemplate.class);
+        valueOps = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOps);
+        when(boardRepository.findAllById(any())).thenReturn(List.of());
+        when(documentAssembler.loadNicknames(any())).thenReturn(new HashMap<>());
+        when(boardSearchRepository.bulk(any(), any())).thenReturn(new HashMap<>());
+
+        indexer = new BoardSearchIndexer(outboxRepository, boardRepository, boardSearchRepository, documentAssembler,
+                mock(SearchResultCache.class), redisTemplate, new SimpleMeterRegistry(), 100, 600);
+    }
+
+    @Test
+    void 다른_노드가_잠금을_가지고_있으면_아웃박스를_읽지_않는다() {
+        when(valueOps.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(false);
+
+        indexer.drain();
+
+        verify(outboxRepository, never()).findReady(any(), any());
+        verify(redisTemplate, never()).delete(anyString());
+    }
+
+    @Test
+    void 잠금을_얻으면_이벤트를_반영하고_잠금을_해제한다() {
+        AtomicReference<String> owner = new AtomicReference<>();
+        when(valueOps.setIfAbsent(eq("search:outbox:lock"), anyString(), any(Duration.class))).thenAnswer(invocation -> {
+            owner.set(invocation.getArgument(1));
+            return true;
+        });
+        when(valueOps.get("search:outbox:lock")).thenAnswer(invocation -> owner.get());
+        BoardSearchOutboxEntity event = BoardSearchOutboxEntity.builder()
+                .id(10L)
+                .postId(1L)
+                .operation(BoardSearchOutboxEntity.Operation.DELETE)
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+        when(outboxRepository.findReady(any(), any())).thenReturn(List.of(event));
+
+        indexer.drain();
+
+        verify(boardSearchRepository).bulk(List.of(), List.of(1L));
+        verify(outboxRepository).deleteAllByIdInBatch(List.of(10L));
+        verify(redisTemplate).delete("search:outbox:lock");
+    }
+}
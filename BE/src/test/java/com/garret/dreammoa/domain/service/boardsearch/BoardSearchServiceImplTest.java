@@ -0,0 +1,52 @@
+package com.garret.dreammoa.domain.service.boardsearch;
+
+import com.garret.dreammoa.domain.document.BoardDocument;
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import com.garret.dreammoa.domain.service.embedding.EmbeddingService;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class BoardSearchServiceImplTest {
+
+    @Test
+    void 두_검색에_모두_나온_문서가_한쪽에만_나온_상위_문서보다_앞선다() {
+        // 키워드: 1, 2, 3 / 벡터: 4, 3, 5
+        List<BoardDocument> fused = BoardSearchServiceImpl.fuseRankings(List.of(
+                docs(1L, 2L, 3L),
+                docs(4L, 3L, 5L)), 100);
+
+        // 3: 1/63 + 1/62, 1과 4: 1/61, 2: 1/62, 5: 1/63
+        assertThat(fused).extracting(BoardDocument::getId).containsExactly(3L, 1L, 4L, 2L, 5L);
+    }
+
+    @Test
+    void 한쪽_결과만_있으면_그_순서를_유지하고_window개로_자른다() {
+        List<BoardDocument> fused = BoardSearchServiceImpl.fuseRankings(List.of(docs(7L, 8L, 9L)), 2);
+
+        assertThat(fused).extracting(BoardDocument::getId).containsExactly(7L, 8L);
+    }
+
+    @Test
+    void 하이브리드_검색의_잘못된_페이지_요청은_검색_전에_거부한다() {
+        SearchResultCache searchResultCache = mock(SearchResultCache.class);
+        BoardSearchServiceImpl service = new BoardSearchServiceImpl(
+                mock(ElasticsearchClient.class), mock(EmbeddingService.class), searchResultCache);
+
+        assertThatThrownBy(() -> service.searchHybridBoards("spring", -1, 10)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.searchHybridBoards("spring", 0, 0)).isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(searchResultCache);
+    }
+
+    private static List<BoardDocument> docs(Long... ids) {
+        return Arrays.stream(ids)
+                .map(id -> BoardDocument.builder().id(id).build())
+                .toList();
+    }
+}
@@ -0,0 +1,54 @@
+package com.garret.dreammoa.domain.service.boardsearch;
+
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SearchCursorTest {
+
+    @Test
+    void PIT_ID와_정렬값의_타입과_값을_그대로_복원한다() {
+        String pitId = "46ToAwMDaWR5BXV1aWQyKwZub2RlXzMAAAAAAAAAACoBYwADaWR4BXV1aWQxAgZub2RlXzEAAAAAAAAAAAEBYQADaWR5BXV1aWQyKgZub2RlXzIAAAAAAAAAAAwBYgACBXV1aWQyAAAFdXVpZDEAAQltYXRjaF9hbGw_gAAAAA==";
+        SearchCursor cursor = new SearchCursor(pitId, List.of(FieldValue.of(12.345678901234567), FieldValue.of(9_007_199_254_740_993L)));
+
+        SearchCursor decoded = SearchCursor.decode(cursor.encode());
+
+        assertThat(decoded.getPitId()).isEqualTo(pitId);
+        assertThat(decoded.getSearchAfter()).hasSize(2);
+        assertThat(decoded.getSearchAfter().get(0).isDouble()).isTrue();
+        assertThat(decoded.getSearchAfter().get(0).doubleValue()).isEqualTo(12.345678901234567);
+        assertThat(decoded.getSearchAfter().get(1).isLong()).isTrue();
+        assertThat(decoded.getSearchAfter().get(1).longValue()).isEqualTo(9_007_199_254_740_993L);
+    }
+
+    @Test
+    void 인코딩_결과는_URL에_그대로_넣을_수_있다() {
+        String encoded = new SearchCursor("pit+/id==", List.of(FieldValue.of(1L))).encode();
+
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void 형식이_잘못된_커서는_IllegalArgumentException으로_처리한다() {
+        assertThatThrownBy(() -> SearchCursor.decode("not-base64!!"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SearchCursor.decode(urlSafe("pit-only")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SearchCursor.decode(urlSafe("pit|x1")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SearchCursor.decode(urlSafe("pit|labc")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SearchCursor.decode(urlSafe("pit||l1")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String urlSafe(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,67 @@
+package com.garret.dreammoa.domain.service.counter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class CounterWriteBehindTest {
+
+    private RedisTemplate<String, String> redisTemplate;
+    private SetOperations<String, String> setOps;
+    private ValueOperations<String, String> valueOps;
+    private JdbcTemplate jdbcTemplate;
+    private CounterWriteBehind writeBehind;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(RedisTemplate.class);
+        setOps = mock(SetOperations.class);
+        valueOps = mock(ValueOperations.class);
+        jdbcTemplate = mock(JdbcTemplate.class);
+        when(redisTemplate.opsForSet()).thenReturn(setOps);
+        when(redisTemplate.opsForValue()).thenReturn(valueOps);
+        writeBehind = new CounterWriteBehind(redisTemplate, jdbcTemplate, 500);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void dirty_게시글의_카운터만_배치로_반영하고_값이_없는_게시글은_건너뛴다() {
+        when(setOps.pop("counter:dirty:views", 500)).thenReturn(List.of("1", "2", "3"));
+        when(valueOps.multiGet(List.of("viewCount1", "viewCount2", "viewCount3"))).thenReturn(Arrays.asList("10", null, "abc"));
+
+        int flushed = writeBehind.flush(CounterWriteBehind.Counter.VIEWS);
+
+        assertThat(flushed).isEqualTo(1);
+        List<Object[]> rows = new ArrayList<>();
+        mockingDetails(jdbcTemplate).getInvocations().stream()
+                .filter(invocation -> invocation.getMethod().getName().equals("batchUpdate"))
+                .forEach(invocation -> rows.addAll(invocation.getArgument(1, List.class)));
+        assertThat(rows).containsExactly(new Object[]{10L, 1L});
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void DB_반영에_실패하면_꺼낸_게시글을_dirty_SET에_되돌린다() {
+        when(setOps.pop("counter:dirty:comments", 500)).thenReturn(List.of("1", "2"));
+        when(valueOps.multiGet(anyList())).thenReturn(List.of("3", "4"));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new QueryTimeoutException("timeout"));
+
+        int flushed = writeBehind.flush(CounterWriteBehind.Counter.COMMENTS);
+
+        assertThat(flushed).isZero();
+        verify(setOps).add("counter:dirty:comments", "1", "2");
+    }
+}
@@ -0,0 +1,203 @@
+package com.garret.dreammoa.domain.service.file;
+
+import com.amazonaws.services.s3.AmazonS3Client;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.garret.dreammoa.domain.model.FileEntity;
+import com.garret.dreammoa.domain.model.FileEntity.RelatedType;
+import com.garret.dreammoa.domain.repository.FileRepository;
+import jakarta.persistence.Table;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.io.InputStream;
+import java.net.URL;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class FileServiceTest {
+
+    private FileRepository fileRepository;
+    private AmazonS3Client amazonS3Client;
+    private RedisTemplate<String, String> redisTemplate;
+    private ValueOperations<String, String> valueOps;
+    private FileService fileService;
+
+    // putObject로 전달된 내용
+    private byte[] uploadedBytes;
+    private long uploadedContentLength;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        fileRepository = mock(FileRepository.class);
+        amazonS3Client = mock(AmazonS3Client.class);
+        redisTemplate = mock(RedisTemplate.class);
+        valueOps = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOps);
+        when(amazonS3Client.getUrl(any(), anyString())).thenAnswer(invocation ->
+                new URL("https://bucket.s3.amazonaws.com/" + invocation.getArgument(1)));
+        when(amazonS3Client.putObject(any(), anyString(), any(InputStream.class), any(ObjectMetadata.class))).thenAnswer(invocation -> {
+            uploadedBytes = ((InputStream) invocation.getArgument(2)).readAllBytes();
+            uploadedContentLength = ((ObjectMetadata) invocation.getArgument(3)).getContentLength();
+            return null;
+        });
+        fileService = new FileService(fileRepository, amazonS3Client, redisTemplate);
+    }
+
+    @Test
+    void 패딩_길이와_관계없이_디코딩한_바이트_수와_내용_해시가_원본과_같다() throws Exception {
+        for (int length = 1; length <= 4; length++) {
+            byte[] original = new byte[length * 1000 + length];
+            for (int i = 0; i < original.length; i++) {
+                original[i] = (byte) (i * 31);
+            }
+
+            FileService.UploadedImage image = fileService.uploadBase64ImageS3(
+                    "data:image/png;base64," + Base64.getEncoder().encodeToString(original));
+
+            assertThat(uploadedBytes).isEqualTo(original);
+            assertThat(uploadedContentLength).isEqualTo(original.length);
+            assertThat(image.getContentHash()).isEqualTo(sha256Hex(original));
+            assertThat(image.getS3Key()).isEqualTo("post/" + sha256Hex(original) + ".png");
+            assertThat(image.isReused()).isFalse();
+        }
+    }
+
+    @Test
+    void 줄바꿈이_섞인_Base64도_같은_내용으로_디코딩한다() throws Exception {
+        byte[] original = new byte[5000];
+        for (int i = 0; i < original.length; i++) {
+            original[i] = (byte) i;
+        }
+
+        FileService.UploadedImage image = fileService.uploadBase64ImageS3(
+                "data:image/jpeg;base64," + Base64.getMimeEncoder().encodeToString(original));
+
+        assertThat(uploadedBytes).isEqualTo(original);
+        assertThat(uploadedContentLength).isEqualTo(original.length);
+        assertThat(image.getContentHash()).isEqualTo(sha256Hex(original));
+        assertThat(image.getFileName()).endsWith(".jpg");
+    }
+
+    @Test
+    void 같은_내용의_이미지가_이미_있으면_업로드하지_않는다() {
+        when(valueOps.get(anyString())).thenReturn("post/existing.png");
+
+        FileService.UploadedImage image = fileService.uploadBase64ImageS3("data:image/png;base64,AAEC");
+
+        assertThat(image.isReused()).isTrue();
+        assertThat(image.getS3Key()).isEqualTo("post/existing.png");
+        assertThat(image.getFileUrl()).isEqualTo("https://bucket.s3.amazonaws.com/post/existing.png");
+        verify(amazonS3Client, never()).putObject(any(), anyString(), any(InputStream.class), any(ObjectMetadata.class));
+    }
+
+    @Test
+    void 허용하지_않는_이미지_형식은_거부한다() {
+        String svg = Base64.getEncoder().encodeToString("<svg onload=\"alert(1)\"/>".getBytes());
+
+        assertThatThrownBy(() -> fileService.uploadBase64ImageS3("data:image/svg+xml;base64," + svg))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> fileService.uploadBase64ImageS3("data:image/x-icon;base64,AAEC"))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(amazonS3Client, never()).putObject(any(), anyString(), any(InputStream.class), any(ObjectMetadata.class));
+    }
+
+    @Test
+    void 같은_이미지를_다른_게시글이_참조하면_S3_객체를_삭제하지_않는다() {
+        FileEntity file = FileEntity.builder().fileId(1L).filePath("post/shared.png").contentHash("abc").build();
+        when(fileRepository.findById(1L)).thenReturn(Optional.of(file));
+        when(fileRepository.existsByContentHash("abc")).thenReturn(true);
+
+        fileService.deleteFile(1L);
+
+        verify(fileRepository).delete(file);
+        verify(amazonS3Client, never()).deleteObject(any(), anyString());
+        verify(redisTemplate, never()).delete(anyString());
+    }
+
+    @Test
+    void 마지막_참조가_삭제되면_S3_객체와_해시_인덱스를_삭제한다() {
+        FileEntity file = FileEntity.builder().fileId(1L).filePath("post/shared.png").contentHash("abc").build();
+        when(fileRepository.findById(1L)).thenReturn(Optional.of(file));
+        when(fileRepository.existsByContentHash("abc")).thenReturn(false);
+
+        fileService.deleteFile(1L);
+
+        verify(amazonS3Client).deleteObject(any(), eq("post/shared.png"));
+        verify(redisTemplate).delete("file:hash:abc");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void 재사용한_이미지도_게시글마다_참조_레코드를_남긴다() {
+        FileEntity otherPost = FileEntity.builder().relatedId(1L).filePath("post/abc.png").contentHash("abc").build();
+        when(fileRepository.findByRelatedIdAndRelatedType(2L, RelatedType.POST)).thenReturn(List.of());
+        FileService.UploadedImage reused = new FileService.UploadedImage(
+                "abc.png", otherPost.getFilePath(), "https://bucket.s3.amazonaws.com/post/abc.png", "image/png", "abc", true);
+
+        fileService.saveUploadedImages(List.of(reused, reused), 2L, RelatedType.POST);
+
+        ArgumentCaptor<List<FileEntity>> saved = ArgumentCaptor.forClass(List.class);
+        verify(fileRepository).saveAll(saved.capture());
+        assertThat(saved.getValue()).singleElement().satisfies(entity -> {
+            assertThat(entity.getRelatedId()).isEqualTo(2L);
+            assertThat(entity.getFilePath()).isEqualTo("post/abc.png");
+            assertThat(entity.getContentHash()).isEqualTo("abc");
+        });
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void 한_게시글의_서로_다른_이미지는_각각_참조_레코드를_남긴다() {
+        when(fileRepository.findByRelatedIdAndRelatedType(2L, RelatedType.POST)).thenReturn(List.of());
+        FileService.UploadedImage first = new FileService.UploadedImage(
+                "abc.png", "post/abc.png", "https://bucket.s3.amazonaws.com/post/abc.png", "image/png", "abc", false);
+        FileService.UploadedImage second = new FileService.UploadedImage(
+                "def.jpg", "post/def.jpg", "https://bucket.s3.amazonaws.com/post/def.jpg", "image/jpeg", "def", true);
+
+        fileService.saveUploadedImages(List.of(first, second), 2L, RelatedType.POST);
+
+        ArgumentCaptor<List<FileEntity>> saved = ArgumentCaptor.forClass(List.class);
+        verify(fileRepository).saveAll(saved.capture());
+        assertThat(saved.getValue()).extracting(FileEntity::getContentHash).containsExactly("abc", "def");
+        assertThat(saved.getValue()).allSatisfy(entity -> assertThat(entity.getRelatedId()).isEqualTo(2L));
+
+        // 한 게시글에 여러 레코드가 들어가므로 유일 제약은 내용 해시까지 포함해야 한다
+        Table table = FileEntity.class.getAnnotation(Table.class);
+        assertThat(table.uniqueConstraints()).singleElement().satisfies(constraint ->
+                assertThat(constraint.columnNames()).containsExactly("relatedId", "relatedType", "contentHash"));
+    }
+
+    @Test
+    void 게시글을_삭제하면_이미지_레코드를_지우고_다른_게시글이_참조하지_않는_객체만_삭제한다() {
+        FileEntity shared = FileEntity.builder().fileId(1L).relatedId(2L).filePath("post/shared.png").contentHash("abc").build();
+        FileEntity own = FileEntity.builder().fileId(2L).relatedId(2L).filePath("post/own.png").contentHash("def").build();
+        when(fileRepository.findByRelatedIdAndRelatedType(2L, RelatedType.POST)).thenReturn(List.of(shared, own));
+        when(fileRepository.existsByContentHash("abc")).thenReturn(true);
+        when(fileRepository.existsByContentHash("def")).thenReturn(false);
+
+        fileService.deletePostImages(2L);
+
+        verify(fileRepository).deleteAll(List.of(shared, own));
+        verify(amazonS3Client).deleteObject(any(), eq("post/own.png"));
+        verify(amazonS3Client, never()).deleteObject(any(), eq("post/shared.png"));
+        verify(redisTemplate).delete("file:hash:def");
+    }
+
+    private static String sha256Hex(byte[] bytes) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+    }
+}
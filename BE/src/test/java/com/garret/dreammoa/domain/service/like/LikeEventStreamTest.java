@@ -0,0 +1,95 @@
+package com.garret.dreammoa.domain.service.like;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.connection.RedisCallback;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class LikeEventStreamTest {
+
+    private RedisTemplate<String, String> redisTemplate;
+    private JdbcTemplate jdbcTemplate;
+    private LikeEventStream stream;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(RedisTemplate.class);
+        jdbcTemplate = mock(JdbcTemplate.class);
+        stream = new LikeEventStream(redisTemplate, jdbcTemplate, 500, 60000, 3600000, "test-consumer");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void 이벤트_op가_아니라_현재_Redis_상태에_맞춰_반영한다() {
+        // 1번 게시글: 취소 이벤트가 늦게 처리됐지만 Redis에는 다시 좋아요된 상태
+        // 2번 게시글: 좋아요 이벤트가 늦게 처리됐지만 Redis에서는 이미 취소된 상태
+        when(redisTemplate.executePipelined(any(SessionCallback.class))).thenReturn(List.of(true, false));
+
+        stream.apply(List.of(event("1-0", "UNLIKE", 1L, 10L), event("2-0", "LIKE", 2L, 10L), event("3-0", "LIKE", 1L, 10L)));
+
+        List<Object[]> inserts = captureBatch("INSERT");
+        List<Object[]> deletes = captureBatch("DELETE");
+        assertThat(inserts).containsExactly(new Object[]{1L, 10L});
+        assertThat(deletes).containsExactly(new Object[]{2L, 10L});
+    }
+
+    @Test
+    void 값이_비어_있는_이벤트만_있으면_아무것도_반영하지_않는다() {
+        MapRecord<String, Object, Object> trimmed = StreamRecords.newRecord()
+                .in(LikeEventStream.STREAM_KEY).withId("1-0").ofMap(Map.<Object, Object>of());
+
+        stream.apply(List.of(trimmed));
+
+        verifyNoInteractions(jdbcTemplate);
+        verify(redisTemplate, never()).executePipelined(any(SessionCallback.class));
+    }
+
+    @Test
+    void 다음_pending_페이지는_마지막_ID의_다음_시퀀스부터_읽는다() {
+        assertThat(LikeEventStream.nextId("1700000000000-0")).isEqualTo("1700000000000-1");
+        assertThat(LikeEventStream.nextId("1700000000000-41")).isEqualTo("1700000000000-42");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void 그룹이_이미_있으면_무시하고_다른_오류는_그대로_던진다() {
+        when(redisTemplate.execute(any(RedisCallback.class)))
+                .thenThrow(new RedisSystemException("BUSYGROUP Consumer Group name already exists", null))
+                .thenThrow(new InvalidDataAccessApiUsageException("WRONGTYPE Operation against a key holding the wrong kind of value"));
+
+        assertThatCode(() -> stream.createGroup()).doesNotThrowAnyException();
+        assertThatThrownBy(() -> stream.createGroup()).isInstanceOf(InvalidDataAccessApiUsageException.class);
+    }
+
+    private MapRecord<String, Object, Object> event(String id, String op, Long postId, Long userId) {
+        return StreamRecords.newRecord().in(LikeEventStream.STREAM_KEY).withId(id)
+                .ofMap(Map.<Object, Object>of("op", op, "postId", postId.toString(), "userId", userId.toString()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object[]> captureBatch(String sqlPrefix) {
+        List<Object[]> rows = new ArrayList<>();
+        mockingDetails(jdbcTemplate).getInvocations().stream()
+                .filter(invocation -> invocation.getMethod().getName().equals("batchUpdate"))
+                .filter(invocation -> invocation.getArgument(0, String.class).startsWith(sqlPrefix))
+                .forEach(invocation -> rows.addAll(invocation.getArgument(1, List.class)));
+        return rows;
+    }
+}
@@ -0,0 +1,63 @@
+package com.garret.dreammoa.domain.service.like;
+
+import com.garret.dreammoa.domain.service.board.BoardRankingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class LikeStoreTest {
+
+    private RedisTemplate<String, String> redisTemplate;
+    private BoardRankingService boardRankingService;
+    private LikeStore likeStore;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(RedisTemplate.class);
+        boardRankingService = mock(BoardRankingService.class);
+        likeStore = new LikeStore(redisTemplate, boardRankingService);
+        when(boardRankingService.rankingKeys(BoardRankingService.Metric.LIKES, 1L)).thenReturn(List.of("ranking:likes:자유"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void 스크립트_결과를_좋아요_결과로_변환하고_삭제_게시글_키를_함께_넘긴다() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(List.of(1L, 1L, 3L));
+
+        LikeStore.LikeResult result = likeStore.add(1L, 10L);
+
+        assertThat(result.isChanged()).isTrue();
+        assertThat(result.isLiked()).isTrue();
+        assertThat(result.getLikeCount()).isEqualTo(3);
+        verify(redisTemplate).execute(any(RedisScript.class),
+                eq(List.of("likes:1", LikeEventStream.STREAM_KEY, "counter:dirty:likes",
+                        "board:deleted:1", "ranking:likes:자유")),
+                any(Object[].class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void 다른_노드에서_삭제된_게시글이면_예외() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(List.of(-1L, 0L, 0L));
+
+        assertThatThrownBy(() -> likeStore.toggle(1L, 10L)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void 존재한_적_없는_게시글은_스크립트를_실행하지_않는다() {
+        when(boardRankingService.rankingKeys(BoardRankingService.Metric.LIKES, 2L)).thenReturn(List.of());
+
+        assertThatThrownBy(() -> likeStore.add(2L, 10L)).isInstanceOf(IllegalArgumentException.class);
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), any(Object[].class));
+    }
+}
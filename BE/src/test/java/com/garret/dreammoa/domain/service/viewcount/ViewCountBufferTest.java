@@ -0,0 +1,73 @@
+package com.garret.dreammoa.domain.service.viewcount;
+
+import com.garret.dreammoa.domain.service.board.BoardRankingService;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+class ViewCountBufferTest {
+
+    @Test
+    void flush와_동시에_들어온_조회도_유실되지_않는다() throws Exception {
+        BoardRankingService rankingService = mock(BoardRankingService.class);
+        AtomicLong recorded = new AtomicLong();
+        doAnswer(invocation -> {
+            List<BoardRankingService.ViewBatch> batches = invocation.getArgument(0);
+            for (BoardRankingService.ViewBatch batch : batches) {
+                recorded.addAndGet(batch.getCount());
+            }
+            return null;
+        }).when(rankingService).recordViews(anyList());
+        ViewCountBuffer buffer = new ViewCountBuffer(rankingService, 1000);
+
+        int threads = 4;
+        int viewsPerThread = 20_000;
+        CountDownLatch done = new CountDownLatch(threads);
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread writer = new Thread(() -> {
+                for (int i = 0; i < viewsPerThread; i++) {
+                    buffer.add((long) (i % 5), null);
+                }
+                done.countDown();
+            });
+            writers.add(writer);
+            writer.start();
+        }
+        while (done.getCount() > 0) {
+            buffer.flush();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        buffer.flush();
+
+        assertThat(recorded.get()).isEqualTo((long) threads * viewsPerThread);
+        for (long postId = 0; postId < 5; postId++) {
+            assertThat(buffer.pending(postId)).isZero();
+        }
+    }
+
+    @Test
+    void Redis_반영에_실패하면_증가분을_그대로_유지한다() {
+        BoardRankingService rankingService = mock(BoardRankingService.class);
+        doThrow(new IllegalStateException("redis down")).when(rankingService).recordViews(anyList());
+        ViewCountBuffer buffer = new ViewCountBuffer(rankingService, 1000);
+        buffer.add(1L, "u:1");
+        buffer.add(1L, "u:2");
+
+        assertThatThrownBy(buffer::flush).isInstanceOf(IllegalStateException.class);
+
+        assertThat(buffer.pending(1L)).isEqualTo(2L);
+    }
+}
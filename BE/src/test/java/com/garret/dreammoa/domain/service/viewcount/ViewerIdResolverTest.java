@@ -0,0 +1,39 @@
+package com.garret.dreammoa.domain.service.viewcount;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ViewerIdResolverTest {
+
+    @Test
+    void 클라이언트가_보낸_X_Forwarded_For_앞부분은_무시하고_프록시가_추가한_마지막_값을_사용한다() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.2");
+        request.addHeader("X-Forwarded-For", "1.2.3.4, 5.6.7.8, 203.0.113.7");
+
+        assertThat(ViewerIdResolver.clientIp(request)).isEqualTo("203.0.113.7");
+    }
+
+    @Test
+    void 위조된_X_Forwarded_For를_바꿔_보내도_같은_방문자로_식별한다() {
+        MockHttpServletRequest first = new MockHttpServletRequest();
+        first.addHeader("X-Forwarded-For", "1.1.1.1, 203.0.113.7");
+        first.addHeader("User-Agent", "Mozilla/5.0");
+        MockHttpServletRequest second = new MockHttpServletRequest();
+        second.addHeader("X-Forwarded-For", "2.2.2.2, 203.0.113.7");
+        second.addHeader("User-Agent", "Mozilla/5.0");
+
+        ViewerIdResolver resolver = new ViewerIdResolver();
+        assertThat(resolver.resolve(first)).isEqualTo(resolver.resolve(second));
+    }
+
+    @Test
+    void 프록시를_거치지_않은_요청은_접속_주소를_사용한다() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("198.51.100.1");
+
+        assertThat(ViewerIdResolver.clientIp(request)).isEqualTo("198.51.100.1");
+    }
+}
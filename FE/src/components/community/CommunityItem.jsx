@@ -23,6 +23,16 @@ export default function CommunityItem({ post }) {
     ? format(new Date(post.createdAt), "yyyy/MM/dd HH:mm")
     : "날짜 없음"; // 만약 createdAt이 없으면 기본값 처리
 
+  // 검색 결과면 서버 하이라이트 조각(HTML 이스케이프 + <em>) 사용, 아니면 본문 앞부분 100자
+  const contentFragments = post.highlights?.content;
+  const content = post.content ?? "";
+  const previewHtml = contentFragments?.length
+    ? contentFragments.join(" ... ")
+    : (content.length > 100 ? content.substring(0, 100) + "..." : content).replace(
+        /<i>|<\/i>|<em>|<\/em>/g,
+        ""
+      );
+
   // ✅ 좋아요 수 & 댓글 수 불러오기
   useEffect(() => {
     console.log("📌 CommunityItem 렌더링됨 - post:", post); // ✅ post 데이터 전체 확인
@@ -80,16 +90,11 @@ export default function CommunityItem({ post }) {
         {/* 게시글 제목 */}
         <h3 className="text-lg font-semibold text-gray-800">{post.title}</h3>
 
-        {/* 본문 내용 일부 (100자까지만 표시) */}
+        {/* 본문 내용 일부 (100자까지만 표시, 검색 결과는 일치 부분 강조) */}
         <div
-          className="mt-2 text-gray-600 text-sm line-clamp-2 not-italic font-normal"
+          className="mt-2 text-gray-600 text-sm line-clamp-2 not-italic font-normal [&_em]:not-italic [&_em]:font-semibold [&_em]:text-gray-900"
           dangerouslySetInnerHTML={{
-            __html: DOMPurify.sanitize(
-              (post.content.length > 100
-                ? post.content.substring(0, 100) + "..."
-                : post.content
-              ).replace(/<i>|<\/i>|<em>|<\/em>/g, "")
-            ),
+            __html: DOMPurify.sanitize(previewHtml),
           }}
         ></div>
 
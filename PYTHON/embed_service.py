@@ -5,6 +5,7 @@ from transformers import AutoTokenizer, AutoModel
 import torch
 import uvicorn
 import numpy as np
+from typing import List
 from fastapi import FastAPI
 from fastapi.middleware.cors import CORSMiddleware
 from api.focus import router as focus_router 
@@ -39,33 +40,60 @@ def mean_pooling(model_output, attention_mask):
     return sum_embeddings / sum_mask
 
 
+# 한 번의 모델 추론에 넣을 최대 문장 수 (메모리 사용량 제한)
+MAX_BATCH_SIZE = 64
+
+
+def encode(texts):
+    """
+    여러 문장을 한 번에 토큰화/추론하여 L2 정규화된 문장 임베딩 목록을 반환합니다.
+    :param texts: 문장 리스트
+    :return: 문장별 임베딩 (list[list[float]])
+    """
+    embeddings = []
+    for start in range(0, len(texts), MAX_BATCH_SIZE):
+        chunk = texts[start:start + MAX_BATCH_SIZE]
+
+        # 입력 텍스트 토큰화 (truncation과 padding 옵션 포함, 배치 내 최대 길이로 패딩)
+        inputs = tokenizer(chunk, return_tensors="pt", truncation=True, padding=True)
+
+        # 모델 추론 (torch.no_grad()를 사용하여 그라디언트 계산 방지)
+        with torch.no_grad():
+            model_output = model(**inputs)
+
+        # 평균 풀링을 통해 문장 임베딩 추출 (패딩 토큰은 attention_mask로 제외)
+        sentence_embeddings = mean_pooling(model_output, inputs['attention_mask']).numpy()
+
+        # L2 정규화: 벡터의 L2 노름으로 나누어 정규화
+        norms = np.linalg.norm(sentence_embeddings, axis=1, keepdims=True)
+        sentence_embeddings = sentence_embeddings / np.clip(norms, 1e-12, None)
+
+        embeddings.extend(sentence_embeddings.tolist())
+    return embeddings
+
+
 # 요청 데이터 구조 정의
 class EmbedRequest(BaseModel):
     text: str
 
 
-# POST /embed 엔드포인트: 입력 텍스트를 임베딩 벡터로 변환하여 반환
-@app.post("/embed")
-async def embed_text(request: EmbedRequest):
-    # 입력 텍스트 토큰화 (truncation과 padding 옵션 포함)
-    inputs = tokenizer(request.text, return_tensors="pt", truncation=True, padding=True)
-
-    # 모델 추론 (torch.no_grad()를 사용하여 그라디언트 계산 방지)
-    with torch.no_grad():
-        model_output = model(**inputs)
+class BatchEmbedRequest(BaseModel):
+    texts: List[str]
 
-    # 평균 풀링을 통해 문장 임베딩 추출
-    sentence_embedding = mean_pooling(model_output, inputs['attention_mask'])
 
-    # 첫 번째(유일한) 문장에 대한 임베딩을 numpy array로 변환
-    embedding = sentence_embedding[0].numpy()
+# POST /embed 엔드포인트: 입력 텍스트를 임베딩 벡터로 변환하여 반환
+# (CPU 연산이므로 def로 선언해 이벤트 루프가 아닌 스레드풀에서 실행)
+@app.post("/embed")
+def embed_text(request: EmbedRequest):
+    return {"embedding": encode([request.text])[0]}
 
-    # L2 정규화: 벡터의 L2 노름으로 나누어 정규화
-    norm = np.linalg.norm(embedding)
-    if norm > 0:
-        embedding = embedding / norm
 
-    return {"embedding": embedding.tolist()}
+# POST /embed/batch 엔드포인트: 여러 텍스트를 한 번의 배치 추론으로 임베딩 (입력 순서 유지)
+@app.post("/embed/batch")
+def embed_texts(request: BatchEmbedRequest):
+    if not request.texts:
+        return {"embeddings": []}
+    return {"embeddings": encode(request.texts)}
 
 
 # 로컬 개발 시 uvicorn으로 실행 (실제 배포는 Docker 등으로 진행)